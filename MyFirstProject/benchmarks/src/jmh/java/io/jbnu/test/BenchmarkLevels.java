@@ -0,0 +1,60 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * 벤치마크 공용: 배포 레벨 경로와 합성(대형) 레벨 생성기.
+ */
+final class BenchmarkLevels {
+
+    private BenchmarkLevels() {}
+
+    /** -Dassets.dir (build.gradle의 jmh 블록이 지정) 아래 maps 디렉터리 */
+    static FileHandle mapsDir() {
+        return new FileHandle(System.getProperty("assets.dir", "assets")).child("maps");
+    }
+
+    /**
+     * 셀 수가 대략 blockCount인 긴 지상 레벨.
+     * 200px 바닥 타일이 이어지고, 계단식 발판이 섞여 충돌 사각형이 하나로 합쳐지지 않게 한다.
+     */
+    static Map.MapData syntheticLevel(int blockCount) {
+        Map.MapData data = new Map.MapData();
+        data.ground = new Array<>();
+        data.deathZones = new Array<>();
+        data.pipes = new Array<>();
+        data.entities = new Array<>();
+
+        int tiles = Math.max(1, blockCount / 6); // 바닥 4셀 + 발판 2셀
+        for (int i = 0; i < tiles; i++) {
+            data.ground.add(tile(i * 200f, 0f, 200f, 50f));
+            data.ground.add(tile(i * 200f + 50f, 150f + (i % 5) * 50f, 100f, 50f));
+        }
+
+        Map.MapData.RectDef death = new Map.MapData.RectDef();
+        death.x = 0f; death.y = -64f; death.w = tiles * 200f; death.h = 64f;
+        data.deathZones.add(death);
+
+        data.flag = new Map.MapData.FlagDef();
+        data.flag.x = tiles * 200f - 100f;
+        data.flag.y = 50f;
+        return data;
+    }
+
+    /** 한 레벨만 돌려주는 LevelSource (끝까지 가면 게임 클리어) */
+    static LevelSource single(final Map.MapData data) {
+        return new LevelSource() {
+            @Override
+            public Map load(int level) {
+                return level == 1 ? new Map(1, data) : null;
+            }
+        };
+    }
+
+    private static Map.MapData.TileDef tile(float x, float y, float w, float h) {
+        Map.MapData.TileDef t = new Map.MapData.TileDef();
+        t.x = x; t.y = y; t.w = w; t.h = h;
+        return t;
+    }
+}
@@ -0,0 +1,54 @@
+package io.jbnu.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BodyStore 일괄 적분(+블록 충돌) 한 틱 비용을 물체 수별로 측정.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BodyStoreBenchmark {
+
+    @Param({"1000", "10000"})
+    public int bodyCount;
+
+    private BodyStore bodies;
+    private LevelStreamer level;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        level = new LevelStreamer(null);
+        level.reset(new Map(1, BenchmarkLevels.syntheticLevel(10000)));
+        level.activateAll(); // 물체가 레벨 전체에 흩어져 있으므로 스트리밍 없이 전부 올린다
+        bodies = new BodyStore(bodyCount);
+        int flags = BodyStore.GRAVITY | BodyStore.FLOOR_CLAMP | BodyStore.COLLIDES;
+        for (int i = 0; i < bodyCount; i++) {
+            int id = bodies.create((i * 37) % 300000, 100f + (i % 40) * 20f, 16f, 16f, flags);
+            bodies.vx[id] = (i % 2 == 0) ? 80f : -80f;
+        }
+    }
+
+    @Benchmark
+    public BodyStore integrate() {
+        bodies.integrate(1f / 60f, GameWorld.WORLD_GRAVITY, 0f, GameWorld.FLOOR_LEVEL);
+        return bodies;
+    }
+
+    @Benchmark
+    public BodyStore integrateAndCollide() {
+        bodies.integrate(1f / 60f, GameWorld.WORLD_GRAVITY, 0f, GameWorld.FLOOR_LEVEL);
+        bodies.collide(level.getSolids());
+        return bodies;
+    }
+}
@@ -0,0 +1,47 @@
+package io.jbnu.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * resolveBlockCollision 한 번의 비용을 블록 수별로 측정.
+ * 플레이어를 매번 바닥에 살짝 파묻힌 위치로 되돌려 실제 분리 연산이 일어나게 한다.
+ * 브로드페이즈가 제대로 동작하면 블록 수와 무관하게 거의 일정해야 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CollisionBenchmark {
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int blockCount;
+
+    private GameWorld world;
+    private GameCharacter player;
+    private float probeX;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = new GameWorld(BenchmarkLevels.single(BenchmarkLevels.syntheticLevel(blockCount)));
+        player = world.getPlayer();
+        // 레벨 중간 지점(바닥 + 발판이 모두 가까운 곳)
+        probeX = (blockCount / 6) * 100f + 60f;
+    }
+
+    @Benchmark
+    public GameCharacter resolveBlockCollision() {
+        player.position.set(probeX, 45f);
+        player.velocity.set(0f, -300f);
+        world.resolveBlockCollision();
+        return player;
+    }
+}
@@ -0,0 +1,49 @@
+package io.jbnu.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 수별 GameWorld 한 틱 비용. 코인/적/발판을 플레이어 주변 활성 청크에 몰아 넣어
+ * 전부 깨어 있는 최악의 경우를 잰다(적은 적분+스윕까지 탄다).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityWorldBenchmark {
+
+    @Param({"1000", "5000"})
+    public int entityCount;
+
+    private GameWorld world;
+    private final InputState idle = new InputState();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Map.MapData data = BenchmarkLevels.syntheticLevel(2000);
+        String[] kinds = {"coin", "coin", "enemy", "platform"};
+        for (int i = 0; i < entityCount; i++) {
+            Map.MapData.EntityDef e = new Map.MapData.EntityDef();
+            e.kind = kinds[i % kinds.length];
+            e.x = 400f + (i * 7) % 800;      // 스폰 주변 활성 청크 안
+            e.y = 60f + (i % 20) * 30f;
+            data.entities.add(e);
+        }
+        world = new GameWorld(BenchmarkLevels.single(data));
+    }
+
+    @Benchmark
+    public GameWorld tick() {
+        world.update(1f / 60f, idle);
+        return world;
+    }
+}
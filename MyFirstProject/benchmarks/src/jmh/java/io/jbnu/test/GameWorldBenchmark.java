@@ -0,0 +1,50 @@
+package io.jbnu.test;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameWorld.update 한 틱(60Hz) 처리량. 배포 레벨 1~3에서 오른쪽으로 달리며 주기적으로 점프.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GameWorldBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int level;
+
+    private GameWorld world;
+    private final InputState input = new InputState();
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FileLevelSource files = new FileLevelSource(BenchmarkLevels.mapsDir());
+        final Map map = files.load(level);
+        world = new GameWorld(new LevelSource() {
+            @Override
+            public Map load(int lv) {
+                return lv == 1 ? map : null; // 레벨 전환 없이 같은 맵에 머문다
+            }
+        });
+        input.right = true;
+    }
+
+    @Benchmark
+    public GameWorld update() {
+        input.jump = (++tick % 45) == 0;
+        input.up = (level == 2) && (tick % 90) < 30;
+        world.update(1f / 60f, input);
+        return world;
+    }
+}
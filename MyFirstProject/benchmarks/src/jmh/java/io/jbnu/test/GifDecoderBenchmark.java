@@ -0,0 +1,43 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GIF → Pixmap 디코딩 비용(loadGIFAnimation에서 GL 업로드를 뺀 부분).
+ * Pixmap은 gdx2d 네이티브만 있으면 되므로 GL 컨텍스트 없이 실행된다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GifDecoderBenchmark {
+
+    @Param({"mario.gif", "swim.gif"})
+    public String file;
+
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GdxNativesLoader.load();
+        data = BenchmarkLevels.mapsDir().parent().child(file).readBytes();
+    }
+
+    @Benchmark
+    public int decodeFrames() {
+        GifDecoder.Frames frames = GifDecoder.decodeFrames(data);
+        int n = frames.pixmaps.size;
+        frames.dispose();
+        return n;
+    }
+}
@@ -0,0 +1,75 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 맵 로딩(JSON 파싱 + Map 구성) 비용.
+ * - shipped: 배포 레벨 1~3 파일
+ * - synthetic: 합성 대형 레벨(JSON 문자열에서 파싱)
+ * - syntheticCompiled: 같은 레벨을 MapFormat(.mlvl) 바이트에서 읽기
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapLoadBenchmark {
+
+    @State(Scope.Thread)
+    public static class Shipped {
+        @Param({"1", "2", "3"})
+        public int level;
+        FileHandle file;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            file = new FileLevelSource(BenchmarkLevels.mapsDir()).mapFile(level);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Synthetic {
+        @Param({"1000", "10000", "100000"})
+        public int blockCount;
+        String json;
+        byte[] compiled;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            Map.MapData data = BenchmarkLevels.syntheticLevel(blockCount);
+            Json writer = new Json(JsonWriter.OutputType.json);
+            json = writer.toJson(data, Map.MapData.class);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            MapFormat.write(data, bytes);
+            compiled = bytes.toByteArray();
+        }
+    }
+
+    @Benchmark
+    public Map loadShipped(Shipped s) {
+        return new Map(s.level, s.file);
+    }
+
+    @Benchmark
+    public Map loadSynthetic(Synthetic s) {
+        return new Map(1, new Json().fromJson(Map.MapData.class, s.json));
+    }
+
+    @Benchmark
+    public Map loadSyntheticCompiled(Synthetic s) throws IOException {
+        return new Map(1, MapFormat.read(ByteBuffer.wrap(s.compiled)));
+    }
+}
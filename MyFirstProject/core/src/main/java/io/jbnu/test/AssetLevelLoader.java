@@ -0,0 +1,256 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 게임 화면용 레벨 공급자.
+ * - Map(JSON 파싱 + 충돌 스팬/브로드페이즈 구성)은 전용 워커 스레드에서 만든다
+ * - 배경 이미지도 같은 워커에서 디코딩해 압축 조각(BackgroundTiles)으로 잘라 둔다.
+ *   GL 업로드는 ParallaxBackground가 화면에 보이는 조각만, 프레임당 시간 예산 안에서 한다
+ * - 렌더 스레드는 isBackgroundReady()로 확인한 뒤에 배경을 가져가므로 첫 레벨도 기다리지 않는다
+ *
+ * 헤드리스(BatchRunner/ReplayDriver)는 여전히 FileLevelSource로 동기·결정적으로 로드한다.
+ * getBackgroundLayers()/dispose()는 렌더 스레드에서 호출한다.
+ */
+public class AssetLevelLoader implements AsyncLevelSource, Disposable {
+
+    /** 배경 레이어 정의: 이미지 경로 + 스크롤 배율(0 고정 ~ 1 카메라와 같이) */
+    public static class LayerSpec {
+        public final String path;
+        public final float scroll;
+
+        public LayerSpec(String path, float scroll) {
+            this.path = path;
+            this.scroll = scroll;
+        }
+    }
+
+    private final FileLevelSource files;
+    private final FileHandle assetsDir;
+    private final ExecutorService worker;
+    private final IntMap<Future<Map>> pendingMaps = new IntMap<>();
+    private final ObjectMap<String, Future<BackgroundTiles>> backgrounds = new ObjectMap<>();
+    private int currentLevel = -1;  // 지금 화면에 쓰는 레벨(배경 해제 대상에서 제외)
+
+    public AssetLevelLoader(FileHandle mapsDir) {
+        this.files = new FileLevelSource(mapsDir);
+        this.assetsDir = mapsDir.parent();
+        this.worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "level-loader");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    // ---------------------------
+    // AsyncLevelSource
+    // ---------------------------
+    @Override
+    public void prepare(final int level) {
+        if (!files.mapFile(level).exists()) return; // 마지막 레벨 이후
+        if (!pendingMaps.containsKey(level)) {
+            pendingMaps.put(level, worker.submit(new Callable<Map>() {
+                @Override public Map call() { return files.load(level); }
+            }));
+        }
+        requestBackground(level);
+    }
+
+    @Override
+    public boolean isReady(int level) {
+        if (!files.mapFile(level).exists()) return true;
+        Future<Map> f = pendingMaps.get(level);
+        if (f == null || !f.isDone()) return false;
+        Array<LayerSpec> specs = backgroundLayers(level);
+        for (int i = 0; i < specs.size; i++) {
+            Future<BackgroundTiles> bg = backgrounds.get(specs.get(i).path);
+            if (bg == null || !bg.isDone()) return false;
+        }
+        return true;
+    }
+
+    /** 준비된 Map이 있으면 그대로, 없으면 (첫 레벨 등) 호출 스레드에서 바로 만든다 */
+    @Override
+    public Map load(int level) {
+        Future<Map> f = pendingMaps.remove(level);
+        if (f == null) return files.load(level);
+        return await(f, "level " + level);
+    }
+
+    // ---------------------------
+    // 배경
+    // ---------------------------
+    /** 배경 조각이 다 잘렸나 (아직 요청하지 않았으면 지금 요청한다). 렌더 스레드에서 매 프레임 불러도 된다 */
+    public boolean isBackgroundReady(int level) {
+        requestBackground(level);
+        Array<LayerSpec> specs = backgroundLayers(level);
+        for (int i = 0; i < specs.size; i++) {
+            if (!backgrounds.get(specs.get(i).path).isDone()) return false;
+        }
+        return true;
+    }
+
+    /** 레벨 배경 레이어. 아직 잘리지 않았으면 그 자리에서 기다린다(isBackgroundReady로 먼저 확인할 것) */
+    public Array<ParallaxBackground.Layer> getBackgroundLayers(int level) {
+        currentLevel = level;
+        requestBackground(level);
+        Array<LayerSpec> specs = backgroundLayers(level);
+        Array<ParallaxBackground.Layer> layers = new Array<>(specs.size);
+        for (int i = 0; i < specs.size; i++) {
+            LayerSpec spec = specs.get(i);
+            layers.add(new ParallaxBackground.Layer(await(backgrounds.get(spec.path), spec.path), spec.scroll));
+        }
+        return layers;
+    }
+
+    /** 현재 레벨 배경만 남기고 나머지 압축 조각을 버린다 */
+    public void releaseBackgroundsExcept(int level) {
+        currentLevel = level;
+        Array<LayerSpec> keep = backgroundLayers(level);
+        ObjectMap.Entries<String, Future<BackgroundTiles>> it = backgrounds.entries();
+        while (it.hasNext()) {
+            ObjectMap.Entry<String, Future<BackgroundTiles>> e = it.next();
+            if (uses(keep, e.key)) continue;
+            e.value.cancel(false);
+            it.remove();
+        }
+    }
+
+    /**
+     * prepare()로 미리 준비한 레벨을 버린다(프리페치했지만 쓰이지 않은 경우).
+     * 아직 파싱 중인 Map은 결과를 버리고, 현재 화면 배경이 아니면 배경 조각도 버린다.
+     */
+    public void release(int level) {
+        Future<Map> f = pendingMaps.remove(level);
+        if (f != null) f.cancel(false);
+        Array<LayerSpec> current = currentLevel > 0 ? backgroundLayers(currentLevel) : null;
+        Array<LayerSpec> specs = backgroundLayers(level);
+        for (int i = 0; i < specs.size; i++) {
+            String path = specs.get(i).path;
+            if (current != null && uses(current, path)) continue;
+            Future<BackgroundTiles> bg = backgrounds.remove(path);
+            if (bg != null) bg.cancel(false);
+        }
+    }
+
+    public boolean isPrepared(int level) {
+        return pendingMaps.containsKey(level);
+    }
+
+    /** 준비된 배경 압축 조각의 메모리(바이트) */
+    public long getResidentBytes() {
+        long bytes = 0;
+        for (Future<BackgroundTiles> f : backgrounds.values()) {
+            if (!f.isDone() || f.isCancelled()) continue;
+            try {
+                bytes += f.get().getPackedBytes();
+            } catch (Exception ignored) {
+                // 실패한 작업은 getBackgroundLayers에서 보고된다
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 레벨을 준비하면 새로 늘어날 메모리 추정치(자르는 동안의 디코딩 최대치).
+     * 배경 PNG의 IHDR(폭/높이)만 읽어 계산하고, 이미 준비됐거나 읽을 수 없으면 0.
+     */
+    public long estimatePrepareBytes(int level) {
+        long total = 0;
+        Array<LayerSpec> specs = backgroundLayers(level);
+        for (int i = 0; i < specs.size; i++) {
+            String path = specs.get(i).path;
+            if (!backgrounds.containsKey(path)) total += estimateDecodeBytes(assetsDir.child(path));
+        }
+        return total;
+    }
+
+    private static long estimateDecodeBytes(FileHandle file) {
+        if (!file.exists()) return 0;
+        byte[] header = new byte[24];
+        java.io.InputStream in = null;
+        try {
+            in = file.read();
+            int n = 0;
+            while (n < header.length) {
+                int r = in.read(header, n, header.length - n);
+                if (r < 0) return 0;
+                n += r;
+            }
+        } catch (Exception e) {
+            return 0;
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+        // PNG 시그니처(8) + IHDR 길이/타입(8) 다음이 폭, 높이 (빅엔디언)
+        long w = readIntBE(header, 16), h = readIntBE(header, 20);
+        return w * h * 4L;
+    }
+
+    private static long readIntBE(byte[] b, int off) {
+        return ((b[off] & 0xFFL) << 24) | ((b[off + 1] & 0xFFL) << 16) | ((b[off + 2] & 0xFFL) << 8) | (b[off + 3] & 0xFFL);
+    }
+
+    /**
+     * 레벨별 배경 레이어 (뒤 → 앞). 고정 매핑: 1=초원, 2=물속, 3=산.
+     * 레이어를 더 겹치려면 여기에 (이미지, 스크롤 배율)을 추가한다.
+     */
+    public static Array<LayerSpec> backgroundLayers(int level) {
+        Array<LayerSpec> layers = new Array<>(1);
+        if (level == 2)      layers.add(new LayerSpec("lev2back.png", 0.4f));
+        else if (level == 3) layers.add(new LayerSpec("lev3back.png", 0.4f));
+        else                 layers.add(new LayerSpec("lev1back.png", 0.4f));
+        return layers;
+    }
+
+    private void requestBackground(int level) {
+        Array<LayerSpec> specs = backgroundLayers(level);
+        for (int i = 0; i < specs.size; i++) {
+            final String path = specs.get(i).path;
+            if (backgrounds.containsKey(path)) continue;
+            backgrounds.put(path, worker.submit(new Callable<BackgroundTiles>() {
+                @Override public BackgroundTiles call() { return BackgroundTiles.slice(assetsDir.child(path)); }
+            }));
+        }
+    }
+
+    private static boolean uses(Array<LayerSpec> specs, String path) {
+        for (int i = 0; i < specs.size; i++) {
+            if (specs.get(i).path.equals(path)) return true;
+        }
+        return false;
+    }
+
+    private static <T> T await(Future<T> f, String what) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while loading " + what, e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Failed to load " + what, e.getCause());
+        }
+    }
+
+    @Override
+    public void dispose() {
+        worker.shutdownNow();
+        pendingMaps.clear();
+        backgrounds.clear();
+    }
+}
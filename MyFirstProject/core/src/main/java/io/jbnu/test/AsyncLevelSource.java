@@ -0,0 +1,15 @@
+package io.jbnu.test;
+
+/**
+ * 다음 레벨을 미리 준비할 수 있는 LevelSource.
+ * GameWorld는 전환 페이드를 시작할 때 prepare()를 부르고, isReady()가 true가 될 때까지 LOADING을 유지한 뒤
+ * load()로 준비된 Map을 받는다. load()는 준비가 끝났다면 막히지 않는다.
+ */
+public interface AsyncLevelSource extends LevelSource {
+
+    /** 레벨 데이터(및 구현에 따라 에셋) 준비를 시작. 여러 번 불러도 한 번만 준비한다 */
+    void prepare(int level);
+
+    /** prepare한 레벨을 load()가 막힘 없이 돌려줄 수 있으면 true (레벨이 없는 경우도 true) */
+    boolean isReady(int level);
+}
@@ -0,0 +1,116 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큰 배경 이미지를 TILE x TILE 조각으로 나눠, 조각마다 RGBA8888 픽셀을 deflate로 압축해 들고 있는 CPU 데이터.
+ * GL을 쓰지 않으므로 로더 워커 스레드에서 만든다. 화면에 필요한 조각만 ParallaxBackground가 텍스처로 올린다.
+ *
+ * 가장자리 조각도 TILE x TILE로 0(투명) 패딩해 두어 텍스처 풀을 한 크기로 재사용한다.
+ */
+public class BackgroundTiles {
+
+    public static final int TILE = 256;
+
+    public final String path;
+    public final int width, height;     // 원본 이미지 크기(px)
+    public final int cols, rows;
+    private final byte[][] packed;      // [row * cols + col] → deflate된 TILE*TILE*4 바이트
+    private final long packedBytes;
+
+    private BackgroundTiles(String path, int width, int height, byte[][] packed, long packedBytes) {
+        this.path = path;
+        this.width = width;
+        this.height = height;
+        this.cols = (width + TILE - 1) / TILE;
+        this.rows = (height + TILE - 1) / TILE;
+        this.packed = packed;
+        this.packedBytes = packedBytes;
+    }
+
+    /** PNG 등 이미지를 한 번 디코딩해 조각으로 자르고 압축한다 (어느 스레드에서나 호출 가능) */
+    public static BackgroundTiles slice(FileHandle file) {
+        Pixmap src = new Pixmap(file);
+        Pixmap full = src;
+        if (src.getFormat() != Pixmap.Format.RGBA8888) {
+            full = new Pixmap(src.getWidth(), src.getHeight(), Pixmap.Format.RGBA8888);
+            full.setBlending(Pixmap.Blending.None);
+            full.drawPixmap(src, 0, 0);
+            src.dispose();
+        }
+        try {
+            int w = full.getWidth(), h = full.getHeight();
+            int cols = (w + TILE - 1) / TILE, rows = (h + TILE - 1) / TILE;
+            byte[][] packed = new byte[cols * rows][];
+            byte[] tile = new byte[TILE * TILE * 4];
+            byte[] out = new byte[tile.length + 64];
+            ByteBuffer pixels = full.getPixels();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            long total = 0;
+            try {
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        java.util.Arrays.fill(tile, (byte) 0);
+                        int x0 = c * TILE, y0 = r * TILE;
+                        int tw = Math.min(TILE, w - x0), th = Math.min(TILE, h - y0);
+                        for (int y = 0; y < th; y++) {
+                            pixels.position(((y0 + y) * w + x0) * 4);
+                            pixels.get(tile, y * TILE * 4, tw * 4);
+                        }
+                        deflater.reset();
+                        deflater.setInput(tile);
+                        deflater.finish();
+                        int n = 0;
+                        while (!deflater.finished()) {
+                            if (n == out.length) out = java.util.Arrays.copyOf(out, out.length * 2);
+                            n += deflater.deflate(out, n, out.length - n);
+                        }
+                        packed[r * cols + c] = java.util.Arrays.copyOf(out, n);
+                        total += n;
+                    }
+                }
+            } finally {
+                deflater.end();
+                pixels.position(0);
+            }
+            return new BackgroundTiles(file.path(), w, h, packed, total);
+        } finally {
+            full.dispose();
+        }
+    }
+
+    /**
+     * 조각 하나를 TILE x TILE RGBA8888 Pixmap에 풀어 넣는다.
+     * @param scratch  TILE*TILE*4 바이트 작업 버퍼
+     */
+    public void unpack(int col, int row, Inflater inflater, byte[] scratch, Pixmap into) {
+        inflater.reset();
+        inflater.setInput(packed[row * cols + col]);
+        try {
+            int n = 0;
+            while (n < scratch.length && !inflater.finished()) {
+                n += inflater.inflate(scratch, n, scratch.length - n);
+            }
+        } catch (DataFormatException e) {
+            throw new GdxRuntimeException("Corrupt background tile " + col + "," + row + " of " + path, e);
+        }
+        ByteBuffer dst = into.getPixels();
+        dst.position(0);
+        dst.put(scratch, 0, TILE * TILE * 4);
+        dst.position(0);
+    }
+
+    /** 조각 안에서 실제 이미지가 차지하는 폭/높이 (가장자리 조각은 TILE보다 작다) */
+    public int tileWidth(int col)  { return Math.min(TILE, width - col * TILE); }
+    public int tileHeight(int row) { return Math.min(TILE, height - row * TILE); }
+
+    /** 압축된 조각 전체 크기(바이트) */
+    public long getPackedBytes() { return packedBytes; }
+}
@@ -0,0 +1,200 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 여러 GameWorld를 동시에(코어 수만큼) 헤드리스로 돌리는 배치 실행기.
+ * 레벨 QA/밸런싱용: 레벨 × 입력 스크립트 조합마다 독립된 월드를 만들어 끝까지 재생하고 결과를 모은다.
+ *
+ * 월드끼리는 아무것도 공유하지 않는다(맵도 실행마다 새로 로드) → 락 없이 선형에 가깝게 확장.
+ *
+ * CLI:
+ *   BatchRunner --maps assets/maps --levels 1,2,3 --scripts qa/ [--hz 60] [--max-seconds 300] [--threads N]
+ *   (스크립트 디렉터리의 .mrec 입력 기록은 기록된 시작 레벨에서 한 번씩 실행)
+ *   (./gradlew :core:runBatch --args="...")
+ */
+public class BatchRunner {
+
+    /** 한 번의 실행 단위 */
+    public static class Job {
+        public final int level;
+        public final String scriptName;
+        public final InputScript script;
+
+        public Job(int level, String scriptName, InputScript script) {
+            this.level = level;
+            this.scriptName = scriptName;
+            this.script = script;
+        }
+    }
+
+    /** 실행 결과 */
+    public static class Result {
+        public final Job job;
+        public boolean cleared;         // 시작 레벨을 빠져나갔는지(깃발/파이프)
+        public float timeToExit = -1f;  // 빠져나간 시점(초), 못 나갔으면 -1
+        public int deaths;
+        public int score;
+        public long ticks;              // 실제로 돈 틱 수
+
+        Result(Job job) { this.job = job; }
+
+        public String toCsv() {
+            return String.format(Locale.ROOT, "%d,%s,%b,%.3f,%d,%d,%d",
+                job.level, job.scriptName, cleared, timeToExit, deaths, score, ticks);
+        }
+    }
+
+    public static final String CSV_HEADER = "level,script,cleared,timeToExit,deaths,score,ticks";
+
+    private final LevelSource levels;
+    private final float step;
+    private final long maxTicks;
+
+    /**
+     * @param levels     실행마다 새 Map을 만들어 주는 LevelSource(스레드 간 공유되므로 상태 없어야 함)
+     * @param tickRate   시뮬레이션 Hz
+     * @param maxSeconds 스크립트가 끝나지 않아도 이 시간에서 중단
+     */
+    public BatchRunner(LevelSource levels, float tickRate, float maxSeconds) {
+        this.levels = levels;
+        this.step = 1f / tickRate;
+        this.maxTicks = (long) (maxSeconds * tickRate);
+    }
+
+    /** 단일 실행(호출 스레드에서) */
+    public Result run(Job job) {
+        Result r = new Result(job);
+        GameWorld world = new GameWorld(levels, job.level,
+            GameWorld.DEFAULT_PLAYER_WIDTH, GameWorld.DEFAULT_PLAYER_HEIGHT);
+        InputState input = new InputState();
+        InputScript.Cursor cursor = job.script.cursor();
+
+        long t = 0;
+        while (t < maxTicks && cursor.hasNext()) {
+            cursor.next(input);
+            world.update(step, input);
+            t++;
+            if (world.getLevel() != job.level || world.isGameCleared()) {
+                r.cleared = true;
+                r.timeToExit = t * step;
+                break;
+            }
+        }
+        r.ticks = t;
+        r.deaths = world.getDeathCount();
+        r.score = world.getScore();
+        return r;
+    }
+
+    /** 모든 작업을 풀에서 병렬 실행. 결과 순서는 jobs 순서와 같다 */
+    public List<Result> runAll(final List<Job> jobs, ForkJoinPool pool) {
+        final Result[] results = new Result[jobs.size()];
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<RecursiveAction> tasks = new ArrayList<>(jobs.size());
+                for (int i = 0; i < jobs.size(); i++) {
+                    final int idx = i;
+                    tasks.add(new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            results[idx] = run(jobs.get(idx));
+                        }
+                    });
+                }
+                invokeAll(tasks);
+            }
+        });
+        List<Result> out = new ArrayList<>(results.length);
+        for (Result r : results) out.add(r);
+        return out;
+    }
+
+    // ---------------------------
+    // CLI
+    // ---------------------------
+    public static void main(String[] args) {
+        String maps = "assets/maps";
+        String levelList = "1,2,3";
+        String scripts = null;
+        float hz = 60f;
+        float maxSeconds = 300f;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String a = args[i];
+            String v = (i + 1 < args.length) ? args[i + 1] : null;
+            if ("--maps".equals(a))             { maps = v; i++; }
+            else if ("--levels".equals(a))      { levelList = v; i++; }
+            else if ("--scripts".equals(a))     { scripts = v; i++; }
+            else if ("--hz".equals(a))          { hz = Float.parseFloat(v); i++; }
+            else if ("--max-seconds".equals(a)) { maxSeconds = Float.parseFloat(v); i++; }
+            else if ("--threads".equals(a))     { threads = Integer.parseInt(v); i++; }
+            else {
+                System.err.println("unknown argument: " + a);
+                System.exit(2);
+            }
+        }
+        if (scripts == null) {
+            System.err.println("usage: BatchRunner --scripts <file|dir> [--maps dir] [--levels 1,2,3]"
+                + " [--hz 60] [--max-seconds 300] [--threads N]");
+            System.exit(2);
+        }
+
+        // 스크립트 파일 수집
+        Array<FileHandle> scriptFiles = new Array<>();
+        FileHandle scriptRoot = new FileHandle(scripts);
+        if (scriptRoot.isDirectory()) {
+            for (FileHandle f : scriptRoot.list()) if (!f.isDirectory()) scriptFiles.add(f);
+        } else {
+            scriptFiles.add(scriptRoot);
+        }
+        scriptFiles.sort(new Comparator<FileHandle>() {
+            @Override
+            public int compare(FileHandle a, FileHandle b) { return a.name().compareTo(b.name()); }
+        });
+
+        List<Job> jobs = new ArrayList<>();
+        for (String lv : levelList.split(",")) {
+            int level = Integer.parseInt(lv.trim());
+            for (FileHandle f : scriptFiles) {
+                if (InputRecording.EXTENSION.equals(f.extension())) continue;
+                jobs.add(new Job(level, f.name(), InputScript.parse(f)));
+            }
+        }
+        // 기록 파일(.mrec)은 기록된 시작 레벨에서만 실행
+        for (FileHandle f : scriptFiles) {
+            if (!InputRecording.EXTENSION.equals(f.extension())) continue;
+            InputRecording rec = InputRecording.load(f);
+            if (rec.tickRate != hz) {
+                System.err.println(f.name() + ": recorded at " + rec.tickRate + " Hz, running at " + hz + " Hz");
+            }
+            jobs.add(new Job(rec.level, f.name(), rec.script));
+        }
+
+        BatchRunner runner = new BatchRunner(new FileLevelSource(new FileHandle(maps)), hz, maxSeconds);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        List<Result> results = runner.runAll(jobs, pool);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        System.out.println(CSV_HEADER);
+        long totalTicks = 0;
+        for (Result r : results) {
+            System.out.println(r.toCsv());
+            totalTicks += r.ticks;
+        }
+        System.err.println(String.format(Locale.ROOT, "%d runs, %d ticks in %.1f ms on %d threads (%.0f ticks/s)",
+            results.size(), totalTicks, elapsed / 1e6, threads, totalTicks / (elapsed / 1e9)));
+    }
+}
@@ -0,0 +1,192 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * 동적 물체(플레이어/코인/적/파편) 저장소 — 구조체 배열(SoA) 방식.
+ * 위치/속도/크기/플래그를 원시 배열에 나란히 두고, 중력·수중 드래그·적분·바닥 규칙을
+ * 모든 물체에 대해 한 루프로 처리한다. 객체를 만들지 않으므로 수천 개도 캐시 친화적으로 돈다.
+ *
+ * id는 배열 인덱스이며, 해제된 슬롯은 free 목록으로 재사용된다.
+ */
+public class BodyStore {
+
+    // === 플래그 ===
+    public static final int ACTIVE      = 1;       // 사용 중인 슬롯
+    public static final int GRAVITY     = 1 << 1;  // 중력 적용
+    public static final int GROUNDED    = 1 << 2;  // 바닥/블록 위에 서 있음(결과 플래그)
+    public static final int WATER_DRAG  = 1 << 3;  // 수중 레벨에서 드래그 적용
+    public static final int FLOOR_CLAMP = 1 << 4;  // 지상 레벨에서 FLOOR_LEVEL 아래로 못 내려감
+    public static final int COLLIDES    = 1 << 5;  // 블록과 충돌(스윕)
+    public static final int KINEMATIC   = 1 << 6;  // 위치 적분 생략(외부에서 이동 — 예: 스윕 이동하는 플레이어)
+    public static final int SLEEPING    = 1 << 7;  // 적분/충돌 모두 건너뜀(활성 청크 밖 엔티티)
+
+    private static final float SKIN = 0.01f;
+
+    public float[] x, y, prevX, prevY, vx, vy, w, h;
+    public int[] flags;
+
+    private int highWater = 0;              // 한 번이라도 쓰인 슬롯 수(루프 상한)
+    private int live = 0;
+    private final IntArray free = new IntArray();
+
+    // 충돌 후보 재사용 버퍼
+    private final Array<Rectangle> hits = new Array<>();
+    private final Rectangle query = new Rectangle();
+    private final SweptAabb sweeper = new SweptAabb();
+
+    public BodyStore(int initialCapacity) {
+        allocate(Math.max(4, initialCapacity));
+    }
+
+    // ---------------------------
+    // 생성/해제
+    // ---------------------------
+    public int create(float px, float py, float pw, float ph, int flagBits) {
+        int id;
+        if (free.size > 0) {
+            id = free.pop();
+        } else {
+            if (highWater == x.length) allocate(x.length * 2);
+            id = highWater++;
+        }
+        x[id] = prevX[id] = px;
+        y[id] = prevY[id] = py;
+        vx[id] = vy[id] = 0f;
+        w[id] = pw;
+        h[id] = ph;
+        flags[id] = flagBits | ACTIVE;
+        live++;
+        return id;
+    }
+
+    public void destroy(int id) {
+        if ((flags[id] & ACTIVE) == 0) return;
+        flags[id] = 0;
+        free.add(id);
+        live--;
+    }
+
+    public boolean isActive(int id) { return id >= 0 && id < highWater && (flags[id] & ACTIVE) != 0; }
+    public int size() { return live; }
+    public int capacity() { return highWater; }
+
+    public void clear() {
+        for (int i = 0; i < highWater; i++) flags[i] = 0;
+        highWater = 0;
+        live = 0;
+        free.clear();
+    }
+
+    // ---------------------------
+    // 일괄 적분 (모든 물체를 한 루프로)
+    // ---------------------------
+    /**
+     * @param gravity    이번 레벨 중력(px/s^2, 수중 보정 포함)
+     * @param waterDrag  수중 드래그 계수(지상이면 0)
+     * @param floorLevel FLOOR_CLAMP 물체의 바닥 높이
+     */
+    public void integrate(float dt, float gravity, float waterDrag, float floorLevel) {
+        final float g = gravity * dt;
+        final float drag = waterDrag * dt;
+        final float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        final int[] flags = this.flags;
+
+        for (int i = 0, n = highWater; i < n; i++) {
+            int f = flags[i];
+            if ((f & (ACTIVE | SLEEPING)) != ACTIVE) continue;
+            f &= ~GROUNDED; // 접지는 매 틱 다시 판정
+            flags[i] = f;
+
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+
+            if ((f & GRAVITY) != 0) vy[i] += g;
+            if ((f & WATER_DRAG) != 0 && drag != 0f) {
+                vx[i] -= vx[i] * drag;
+                vy[i] -= vy[i] * drag;
+            }
+            if ((f & KINEMATIC) != 0) continue;
+
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+
+            if ((f & FLOOR_CLAMP) != 0 && y[i] < floorLevel) {
+                y[i] = floorLevel;
+                vy[i] = 0f;
+                flags[i] = f | GROUNDED;
+            }
+        }
+    }
+
+    /**
+     * COLLIDES 물체를 이번 틱 이동 경로(prev → 현재)로 스윕해 첫 충돌 면에서 멈추게 한다.
+     * 물체당 한 번 브로드페이즈 질의, 한 번 미끄러짐.
+     */
+    public void collide(Broadphase<Rectangle> solids) {
+        if (solids == null || solids.size() == 0) return;
+
+        for (int i = 0, n = highWater; i < n; i++) {
+            int f = flags[i];
+            if ((f & (ACTIVE | COLLIDES)) != (ACTIVE | COLLIDES) || (f & (KINEMATIC | SLEEPING)) != 0) continue;
+
+            float sx = prevX[i], sy = prevY[i];
+            float dx = x[i] - sx, dy = y[i] - sy;
+            if (dx == 0f && dy == 0f) continue;
+
+            query.set(Math.min(sx, x[i]), Math.min(sy, y[i]), w[i] + Math.abs(dx), h[i] + Math.abs(dy));
+            hits.clear();
+            solids.query(query, hits);
+
+            float px = sx, py = sy;
+            for (int pass = 0; pass < 2 && (dx != 0f || dy != 0f); pass++) {
+                float toi = SweptAabb.NO_HIT;
+                int nx = 0, ny = 0;
+                for (int k = 0; k < hits.size; k++) {
+                    float t = sweeper.sweep(px, py, w[i], h[i], dx, dy, hits.get(k));
+                    if (t < toi) { toi = t; nx = sweeper.normalX; ny = sweeper.normalY; }
+                }
+                if (toi >= SweptAabb.NO_HIT) { px += dx; py += dy; break; }
+
+                px += dx * toi + nx * SKIN;
+                py += dy * toi + ny * SKIN;
+                dx *= 1f - toi;
+                dy *= 1f - toi;
+                if (nx != 0) { dx = 0f; vx[i] = 0f; }
+                if (ny != 0) {
+                    dy = 0f;
+                    vy[i] = 0f;
+                    if (ny > 0) f |= GROUNDED;
+                }
+            }
+            x[i] = px;
+            y[i] = py;
+            flags[i] = f;
+        }
+    }
+
+    // ---------------------------
+    // 내부
+    // ---------------------------
+    private void allocate(int cap) {
+        x = grow(x, cap);
+        y = grow(y, cap);
+        prevX = grow(prevX, cap);
+        prevY = grow(prevY, cap);
+        vx = grow(vx, cap);
+        vy = grow(vy, cap);
+        w = grow(w, cap);
+        h = grow(h, cap);
+        int[] nf = new int[cap];
+        if (flags != null) System.arraycopy(flags, 0, nf, 0, flags.length);
+        flags = nf;
+    }
+
+    private static float[] grow(float[] a, int cap) {
+        float[] n = new float[cap];
+        if (a != null) System.arraycopy(a, 0, n, 0, a.length);
+        return n;
+    }
+}
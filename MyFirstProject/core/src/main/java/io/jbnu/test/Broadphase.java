@@ -0,0 +1,25 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * 충돌/트리거 후보를 빠르게 걸러내는 브로드페이즈 공통 인터페이스.
+ * 레벨(Map) 로딩 시 한 번 구성하고, 매 틱에는 query만 호출한다.
+ *
+ * 구현체는 교체 가능(균일 공간 해시, AABB 트리 등).
+ */
+public interface Broadphase<T> {
+
+    /** 항목을 주어진 AABB로 등록 */
+    void insert(T item, float x, float y, float w, float h);
+
+    /** 영역과 겹칠 수 있는 후보를 out에 추가(중복 없음). out은 비우지 않음 */
+    void query(Rectangle area, Array<T> out);
+
+    /** 등록된 항목 수 */
+    int size();
+
+    /** 모든 항목 제거 */
+    void clear();
+}
@@ -8,41 +8,64 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
 
 /**
- * 카메라 관련 기능(레벨별 줌, 수중 후처리(FBO+셰이더), 리사이즈/정리)을 전담하는 매니저.
- * - 수중(레벨2)일 때: 카메라 줌 축소 + 굴절/살짝 블러/틴트 후처리
+ * 카메라 관련 기능(레벨별 줌, 수중 후처리 체인, 리사이즈/정리)을 전담하는 매니저.
+ * - 수중(레벨2)일 때: 카메라 줌 축소 + 분리형(가로/세로) 가우시안 블러 후처리
  * - 비수중: 기존 렌더 경로로 자동 폴백
  *
+ * 후처리 체인:
+ *   씬 → A (화면의 resolutionScale 배율)
+ *   가로 블러 A → B, (반복 시 세로 블러 B → A, 가로 블러 A → B ...)
+ *   마지막 세로 블러 B → 화면 (선형 필터로 업스케일)
+ *
+ * A/B 두 타깃은 풀로 재사용한다. 리사이즈 때 필요한 크기가 현재 용량 안이면 다시 만들지 않고
+ * 사용 영역(usedW x usedH)만 바꾼다. 용량은 TARGET_GRANULARITY로 올려 잡으므로 사용 영역 밖에
+ * 지난 프레임/이전 해상도의 픽셀이 남아 있을 수 있다 → 블러 샘플 좌표를 사용 영역 안(반 텍셀 안쪽)으로 자른다.
+ *
  * 사용법:
  *   camFx = new CameraFxManager();
- *   camFx.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+ *   camFx.resize(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
  *   ...
  *   camFx.setUnderwater(isUnderwater);
  *   camFx.update(dt, camera);
- *   if (camFx.isActive()) {
- *       camFx.beginScene();         // FBO로 렌더 시작
- *       // batch.begin(); 월드/플레이어 그리기 ... batch.end();
- *       camFx.endSceneAndPost(camera, batch); // 셰이더 후처리 출력
- *   } else {
- *       // 기존처럼 바로 그리기
- *   }
- *   // HUD/텍스트/페이드 등은 후처리 이후에 batch로 다시 그리기 권장
+ *   pipeline.setSceneTarget(camFx);   // SCENE 패스는 활성 시 FBO로 모인다
+ *   // 후처리 패스(SCREEN, batchless)에서 camFx.post(batch)
+ *   // HUD/텍스트/페이드 등은 후처리 이후 SCREEN 패스로 그린다
  */
-public class CameraFxManager {
+public class CameraFxManager implements RenderPipeline.SceneTarget {
 
     // 설정값
     private static final float UNDERWATER_ZOOM = 1.25f;
+    public static final float DEFAULT_RESOLUTION_SCALE = 0.5f;
+    /** 타깃 용량 반올림 단위 (작은 리사이즈마다 재할당하지 않도록) */
+    private static final int TARGET_GRANULARITY = 128;
 
     // 상태
     private boolean underwater = false;
     private float time = 0f;
+    private float resolutionScale = DEFAULT_RESOLUTION_SCALE;
+    private int blurIterations = 1;
+    private float blurSpread = 1f;
+
+    // 화면(레터박스) 영역, 논리 좌표
+    private int screenX, screenY, screenW, screenH;
 
-    // 리소스
-    private FrameBuffer fbo;
-    private TextureRegion fboRegion;
-    private ShaderProgram shader;
+    // 리소스: 핑퐁 타깃 풀
+    private FrameBuffer targetA, targetB;
+    private int capacityW, capacityH;   // 실제 FBO 크기
+    private int usedW, usedH;           // 이번 해상도에서 쓰는 영역
+    private final TextureRegion regionA = new TextureRegion();
+    private final TextureRegion regionB = new TextureRegion();
+    private ShaderProgram blurShader;
+    private float minU, minV, maxU, maxV;   // 블러 샘플 좌표 범위 (사용 영역)
+    private int fboPasses;              // 통계: 마지막 takeFboPassCount() 이후 FBO 렌더 패스 수
+    private final Matrix4 savedProjection = new Matrix4();
+    private final Matrix4 unitProjection = new Matrix4().setToOrtho2D(0f, 0f, 1f, 1f);
 
     public CameraFxManager() {
         initShader();
@@ -51,9 +74,22 @@ public class CameraFxManager {
     public void setUnderwater(boolean on) { this.underwater = on; }
     public boolean isUnderwater() { return underwater; }
 
+    /** 후처리 해상도 배율 (0.1~1). 다음 resize부터가 아니라 즉시 사용 영역에 반영 */
+    public void setResolutionScale(float scale) {
+        this.resolutionScale = MathUtils.clamp(scale, 0.1f, 1f);
+        if (screenW > 0 && screenH > 0) resize(screenX, screenY, screenW, screenH);
+    }
+    public float getResolutionScale() { return resolutionScale; }
+
+    /** 가로+세로 블러 반복 횟수 (1 이상) */
+    public void setBlurIterations(int iterations) { this.blurIterations = Math.max(1, iterations); }
+    /** 블러 샘플 간격 배율 (타깃 텍셀 기준) */
+    public void setBlurSpread(float spread) { this.blurSpread = Math.max(0f, spread); }
+
     /** 현재 프레임에서 후처리 경로를 쓸지 여부 (셰이더/FBO 준비 상태 포함) */
+    @Override
     public boolean isActive() {
-        return underwater && shader != null && fbo != null;
+        return underwater && blurShader != null && targetA != null;
     }
 
     /** 카메라 갱신(수중 줌 반영) 및 시간 진행 */
@@ -63,60 +99,149 @@ public class CameraFxManager {
         camera.update();
     }
 
-    /** 화면 사이즈 변경 시 FBO 재생성 */
-    public void resize(int width, int height) {
+    /**
+     * 화면(뷰포트) 영역 변경. 타깃은 용량이 부족할 때만 다시 만든다.
+     * 좌표는 Viewport.getScreenX/Y/Width/Height와 같은 논리 픽셀.
+     */
+    public void resize(int x, int y, int width, int height) {
         if (width <= 0 || height <= 0) return;
-        if (fbo != null) fbo.dispose();
-        fbo = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
-        Texture tex = fbo.getColorBufferTexture();
-        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        screenX = x; screenY = y; screenW = width; screenH = height;
+
+        int backW = HdpiUtils.toBackBufferX(width);
+        int backH = HdpiUtils.toBackBufferY(height);
+        usedW = Math.max(1, Math.round(backW * resolutionScale));
+        usedH = Math.max(1, Math.round(backH * resolutionScale));
 
-        fboRegion = new TextureRegion(tex);
-        fboRegion.flip(false, true); // FBO의 상하 반전 보정
+        if (targetA == null || usedW > capacityW || usedH > capacityH) {
+            disposeTargets();
+            capacityW = roundUp(usedW);
+            capacityH = roundUp(usedH);
+            targetA = createTarget(capacityW, capacityH);
+            targetB = createTarget(capacityW, capacityH);
+        }
+        setRegion(regionA, targetA);
+        setRegion(regionB, targetB);
     }
 
-    /** FBO에 씬을 그리기 시작 (begin) */
+    /** 씬을 A 타깃 사용 영역에 그리기 시작 */
+    @Override
     public void beginScene() {
-        if (fbo == null) return;
-        fbo.begin();
+        if (targetA == null) return;
+        targetA.begin();
+        fboPasses++;
+        Gdx.gl.glViewport(0, 0, usedW, usedH);
         Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
     }
 
-    /** FBO 종료하고 수중 셰이더로 후처리 출력 */
-    public void endSceneAndPost(OrthographicCamera camera, SpriteBatch batch) {
-        if (fbo == null) return;
-        fbo.end();
+    /** A 타깃 종료 후 화면 뷰포트(레터박스) 복원 */
+    @Override
+    public void endScene() {
+        if (targetA == null) return;
+        targetA.end();
+        HdpiUtils.glViewport(screenX, screenY, screenW, screenH);
+    }
+
+    /** endScene() 이후, 블러 체인을 돌려 결과를 화면 뷰포트에 출력 (batch.begin() 밖에서 호출) */
+    public void post(SpriteBatch batch) {
+        if (targetA == null) return;
+        savedProjection.set(batch.getProjectionMatrix());
+        batch.setProjectionMatrix(unitProjection);
 
-        if (shader == null) {
-            // 셰이더가 없으면 그냥 FBO 텍스처를 덮어 그림(거의 폴백 상황)
+        if (blurShader == null) {
+            // 셰이더가 없으면 그냥 씬 텍스처를 덮어 그림(거의 폴백 상황)
             batch.setShader(null);
             batch.begin();
-            drawFboToCameraView(camera, batch);
+            batch.draw(regionA, 0f, 0f, 1f, 1f);
             batch.end();
+            batch.setProjectionMatrix(savedProjection);
             return;
         }
 
-        batch.setShader(shader);
+        float texelX = blurSpread / capacityW;
+        float texelY = blurSpread / capacityH;
+        // 샘플이 사용 영역 밖(용량 여백)을 읽지 않도록 자를 범위 (가장자리 텍셀 중심)
+        minU = 0.5f / capacityW;
+        minV = 0.5f / capacityH;
+        maxU = (usedW - 0.5f) / capacityW;
+        maxV = (usedH - 0.5f) / capacityH;
+        batch.setShader(blurShader);
+
+        for (int i = 0; i < blurIterations; i++) {
+            blurInto(batch, targetB, regionA, texelX, 0f);          // 가로: A → B
+            if (i < blurIterations - 1) {
+                blurInto(batch, targetA, regionB, 0f, texelY);      // 세로: B → A (다음 반복용)
+            }
+        }
+
+        // 마지막 세로 블러는 화면으로 바로
         batch.begin();
-        shader.setUniformf("u_resolution", (float)Gdx.graphics.getWidth(), (float)Gdx.graphics.getHeight());
-        drawFboToCameraView(camera, batch);
+        setBlurUniforms(0f, texelY);
+        batch.draw(regionB, 0f, 0f, 1f, 1f);
         batch.end();
+
         batch.setShader(null);
+        batch.setProjectionMatrix(savedProjection);
+    }
 
+    private void blurInto(SpriteBatch batch, FrameBuffer target, TextureRegion source, float dirX, float dirY) {
+        target.begin();
+        fboPasses++;
+        Gdx.gl.glViewport(0, 0, usedW, usedH);
+        Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.begin();
+        setBlurUniforms(dirX, dirY);
+        batch.draw(source, 0f, 0f, 1f, 1f);
+        batch.end();
+        target.end();
+        HdpiUtils.glViewport(screenX, screenY, screenW, screenH);
     }
 
-    /** 카메라 뷰포트 영역에 FBO 텍스처를 그대로 덮어 그림 */
-    private void drawFboToCameraView(OrthographicCamera camera, SpriteBatch batch) {
-        float left   = camera.position.x - camera.viewportWidth  / 2f;
-        float bottom = camera.position.y - camera.viewportHeight / 2f;
-        batch.draw(fboRegion, left, bottom, camera.viewportWidth, camera.viewportHeight);
+    /** batch.begin() 이후(셰이더가 바인딩된 상태)에서 호출 */
+    private void setBlurUniforms(float dirX, float dirY) {
+        blurShader.setUniformf("u_dir", dirX, dirY);
+        blurShader.setUniformf("u_min", minU, minV);
+        blurShader.setUniformf("u_max", maxU, maxV);
+    }
+
+    /** 지난 호출 이후의 FBO 렌더 패스 수를 돌려주고 0으로 되돌린다 (RenderStats용) */
+    public int takeFboPassCount() {
+        int n = fboPasses;
+        fboPasses = 0;
+        return n;
     }
 
     /** 리소스 정리 */
     public void dispose() {
-        if (fbo != null) { fbo.dispose(); fbo = null; }
-        if (shader != null) { shader.dispose(); shader = null; }
+        disposeTargets();
+        if (blurShader != null) { blurShader.dispose(); blurShader = null; }
+    }
+
+    // ---------- 타깃 풀 ----------
+    private static FrameBuffer createTarget(int w, int h) {
+        FrameBuffer fbo = new FrameBuffer(Pixmap.Format.RGBA8888, w, h, false);
+        Texture tex = fbo.getColorBufferTexture();
+        tex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        tex.setWrap(Texture.TextureWrap.ClampToEdge, Texture.TextureWrap.ClampToEdge);
+        return fbo;
+    }
+
+    /** 사용 영역만 가리키는 상하 반전 영역 (FBO는 아래가 원점) */
+    private void setRegion(TextureRegion region, FrameBuffer fbo) {
+        region.setTexture(fbo.getColorBufferTexture());
+        region.setRegion(0, 0, usedW, usedH);
+        region.flip(false, true);
+    }
+
+    private void disposeTargets() {
+        if (targetA != null) { targetA.dispose(); targetA = null; }
+        if (targetB != null) { targetB.dispose(); targetB = null; }
+        capacityW = capacityH = 0;
+    }
+
+    private static int roundUp(int size) {
+        return ((size + TARGET_GRANULARITY - 1) / TARGET_GRANULARITY) * TARGET_GRANULARITY;
     }
 
     // ---------- 셰이더 초기화 ----------
@@ -133,29 +258,31 @@ public class CameraFxManager {
                 "  gl_Position = u_projTrans * a_position;\n" +
                 "}\n";
 
+        // 9탭 가우시안을 선형 필터링으로 5번 샘플에 담은 1D 블러 (u_dir = 방향 * 텍셀 크기)
+        // 샘플 좌표는 [u_min, u_max]로 잘라 타깃의 사용 영역 밖(여백)을 읽지 않는다
         String frag =
             "#ifdef GL_ES\nprecision mediump float;\n#endif\n" +
                 "varying vec2 v_texCoord;\n" +
                 "uniform sampler2D u_texture;\n" +
-                "uniform vec2 u_resolution;\n" +
+                "uniform vec2 u_dir;\n" +
+                "uniform vec2 u_min;\n" +
+                "uniform vec2 u_max;\n" +
+                "vec4 tap(vec2 uv){ return texture2D(u_texture, clamp(uv, u_min, u_max)); }\n" +
                 "void main(){\n" +
-                "  vec2 texel = 1.0 / u_resolution;\n" +
-                "  vec4 c = texture2D(u_texture, v_texCoord) * 4.0;\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2( texel.x, 0.0));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2(-texel.x, 0.0));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2(0.0,  texel.y));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2(0.0, -texel.y));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2( texel.x,  texel.y));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2(-texel.x,  texel.y));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2( texel.x, -texel.y));\n" +
-                "  c += texture2D(u_texture, v_texCoord + vec2(-texel.x, -texel.y));\n" +
-                "  gl_FragColor = c / 13.0; // 약한 9탭 박스블러\n" +
+                "  vec2 o1 = u_dir * 1.3846153846;\n" +
+                "  vec2 o2 = u_dir * 3.2307692308;\n" +
+                "  vec4 c = tap(v_texCoord) * 0.2270270270;\n" +
+                "  c += tap(v_texCoord + o1) * 0.3162162162;\n" +
+                "  c += tap(v_texCoord - o1) * 0.3162162162;\n" +
+                "  c += tap(v_texCoord + o2) * 0.0702702703;\n" +
+                "  c += tap(v_texCoord - o2) * 0.0702702703;\n" +
+                "  gl_FragColor = c;\n" +
                 "}\n";
 
-        shader = new ShaderProgram(vert, frag);
-        if (!shader.isCompiled()) {
-            Gdx.app.error("SHADER", shader.getLog());
-            shader = null; // 폴백 허용
+        blurShader = new ShaderProgram(vert, frag);
+        if (!blurShader.isCompiled()) {
+            Gdx.app.error("SHADER", blurShader.getLog());
+            blurShader = null; // 폴백 허용
         }
     }
 }
@@ -0,0 +1,127 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * 지면 셀(50x50 타일)들을 물리용 충돌 사각형으로 병합하는 빌더.
+ * 1) 같은 행에서 x가 이어지는 셀 → 가로 구간(run)  (buildRuns — 청크마다 미리 만들어 둘 수 있다)
+ * 2) 바로 아래 행에 x/폭이 같은 구간이 있으면 → 세로로 이어 붙임  (mergeRuns)
+ * 셀 원점이 타일마다 달라도(격자 정렬 불필요) 동작하며, 중복 셀은 한 번만 센다.
+ */
+public final class CollisionGeometry {
+
+    private CollisionGeometry() {}
+
+    /** 셀 좌하단 좌표와 크기를 받아 병합된 사각형 목록을 반환 */
+    public static Array<Rectangle> mergeCells(IntArray cellX, IntArray cellY, int cellW, int cellH) {
+        int n = cellX.size;
+        if (n == 0) return new Array<>();
+
+        long[] keys = sortedKeys(cellX, cellY, 0);
+        IntArray xs = new IntArray(n), ys = new IntArray(n);
+        for (int k = 0; k < n; k++) {
+            ys.add((int) (keys[k] >> 32));
+            xs.add(((int) keys[k]) ^ 0x80000000);
+        }
+        IntArray runs = new IntArray(n);
+        buildRuns(xs, ys, cellW, runs);
+        return mergeRuns(runs, cellH);
+    }
+
+    /**
+     * 1단계: (y, x) 순으로 정렬된 셀 → 가로 구간(run). out에 (x, y, w) 세 개씩 덧붙인다.
+     * 같은 행에서 겹치거나 맞닿은 셀은 하나로 이어지고, 중복 셀은 한 번만 센다.
+     */
+    public static void buildRuns(IntArray xs, IntArray ys, int cellW, IntArray out) {
+        int n = xs.size;
+        int i = 0;
+        while (i < n) {
+            int rowY = ys.get(i);
+            int startX = xs.get(i);
+            int endX = startX + cellW;
+            i++;
+            while (i < n && ys.get(i) == rowY && xs.get(i) <= endX) {
+                endX = Math.max(endX, xs.get(i) + cellW);
+                i++;
+            }
+            out.add(startX, rowY, endX - startX);
+        }
+    }
+
+    /**
+     * 2단계: (y, x) 순 가로 구간(세 개씩) → 사각형.
+     * 같은 행에서 맞닿은 구간은 다시 잇고(청크 경계에서 나뉜 구간 등),
+     * 바로 아래 행에 x/폭이 같은 사각형이 있으면 세로로 이어 붙인다.
+     */
+    public static Array<Rectangle> mergeRuns(IntArray runs, int cellH) {
+        Array<Rectangle> result = new Array<>();
+        int n = runs.size / 3;
+        if (n == 0) return result;
+        int[] r3 = runs.items;
+
+        Array<Rectangle> open = new Array<>();     // 직전 행에서 끝난(위로 확장 가능한) 사각형
+        Array<Rectangle> current = new Array<>();  // 현재 행에서 만들어진/확장된 사각형
+
+        int i = 0;
+        while (i < n) {
+            int rowY = r3[i * 3 + 1];
+            current.clear();
+
+            while (i < n && r3[i * 3 + 1] == rowY) {
+                // 가로 구간 잇기
+                int startX = r3[i * 3];
+                int endX = startX + r3[i * 3 + 2];
+                i++;
+                while (i < n && r3[i * 3 + 1] == rowY && r3[i * 3] <= endX) {
+                    endX = Math.max(endX, r3[i * 3] + r3[i * 3 + 2]);
+                    i++;
+                }
+
+                // 직전 행의 같은 x/폭 사각형과 세로 병합
+                Rectangle merged = null;
+                for (int k = 0; k < open.size; k++) {
+                    Rectangle r = open.get(k);
+                    if (r.x == startX && r.width == endX - startX && r.y + r.height == rowY) {
+                        r.height += cellH;
+                        merged = r;
+                        open.removeIndex(k);
+                        break;
+                    }
+                }
+                if (merged == null) {
+                    merged = new Rectangle(startX, rowY, endX - startX, cellH);
+                    result.add(merged);
+                }
+                current.add(merged);
+            }
+
+            // 이번 행에서 이어진 사각형만 다음 행의 후보가 된다
+            open.clear();
+            open.addAll(current);
+        }
+        return result;
+    }
+
+    /** 셀 좌표 [from, size) 구간을 제자리에서 (y, x) 순으로 정렬한다 */
+    public static void sortCells(IntArray cellX, IntArray cellY, int from) {
+        long[] keys = sortedKeys(cellX, cellY, from);
+        for (int k = 0; k < keys.length; k++) {
+            cellY.set(from + k, (int) (keys[k] >> 32));
+            cellX.set(from + k, ((int) keys[k]) ^ 0x80000000);
+        }
+    }
+
+    /** (y, x) 순 정렬: 두 좌표를 long 하나로 묶어 원시 배열 정렬(스레드 안전, 박싱 없음) */
+    private static long[] sortedKeys(IntArray cellX, IntArray cellY, int from) {
+        long[] keys = new long[cellX.size - from];
+        for (int k = 0; k < keys.length; k++) {
+            keys[k] = ((long) cellY.get(from + k) << 32) | ((cellX.get(from + k) ^ 0x80000000) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+}
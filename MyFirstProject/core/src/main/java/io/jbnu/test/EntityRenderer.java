@@ -0,0 +1,63 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * EntityWorld(코인/적/발판)를 그리는 표현 계층. 슬롯 배열을 한 번 훑으며 시야 안의 것만
+ * batch에 넣는다(같은 아틀라스 페이지라 텍스처 교체 없음). 위치는 틱 사이를 보간한다.
+ * 적 전용 그림은 아직 없으므로 흰 영역을 붉게 칠해 그린다.
+ */
+public class EntityRenderer {
+
+    private final TextureRegion coinRegion;
+    private final TextureRegion platformRegion;
+    private final TextureRegion enemyRegion;
+
+    private int drawnCount;
+
+    public EntityRenderer(GameAtlas atlas) {
+        coinRegion = atlas.region(GameAtlas.COIN);
+        platformRegion = atlas.region(GameAtlas.BLOCK);
+        enemyRegion = atlas.region(GameAtlas.WHITE);
+    }
+
+    /** batch.begin() 상태에서 호출 */
+    public void draw(SpriteBatch batch, GameWorld world, OrthographicCamera camera, float alpha) {
+        EntityWorld entities = world.getEntities();
+        BodyStore bodies = world.getBodies();
+        drawnCount = 0;
+        if (entities.size() == 0) return;
+
+        float halfW = camera.viewportWidth * camera.zoom * 0.5f;
+        float halfH = camera.viewportHeight * camera.zoom * 0.5f;
+        float left = camera.position.x - halfW, right = camera.position.x + halfW;
+        float bottom = camera.position.y - halfH, top = camera.position.y + halfH;
+
+        final byte[] kind = entities.kind;
+        final int[] body = entities.body;
+        for (int e = 0, n = entities.capacity(); e < n; e++) {
+            byte k = kind[e];
+            if (k == EntityWorld.NONE) continue;
+            int b = body[e];
+            float x = bodies.prevX[b] + (bodies.x[b] - bodies.prevX[b]) * alpha;
+            float y = bodies.prevY[b] + (bodies.y[b] - bodies.prevY[b]) * alpha;
+            float w = bodies.w[b], h = bodies.h[b];
+            if (x + w < left || x > right || y + h < bottom || y > top) continue;
+
+            if (k == EntityWorld.COIN) {
+                batch.draw(coinRegion, x, y, w, h);
+            } else if (k == EntityWorld.PLATFORM) {
+                batch.draw(platformRegion, x, y, w, h);
+            } else if (k == EntityWorld.ENEMY) {
+                batch.setColor(0.75f, 0.2f, 0.15f, 1f);
+                batch.draw(enemyRegion, x, y, w, h);
+                batch.setColor(1f, 1f, 1f, 1f);
+            }
+            drawnCount++;
+        }
+    }
+
+    public int getDrawnCount() { return drawnCount; }
+}
@@ -0,0 +1,281 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * 레벨 엔티티(코인/적/움직이는 발판) 저장소와 시스템 — BodyStore와 같은 구조체 배열(SoA) 방식.
+ * 엔티티는 슬롯 번호(int)일 뿐이고, 종류/상태/파라미터는 원시 배열에 나란히 둔다.
+ * 위치·속도·크기는 BodyStore 슬롯(body[e])에 있으므로 적은 플레이어와 같은 적분/스윕 루프를 탄다.
+ *
+ * 시스템(매 틱, 살아 있는 슬롯을 한 루프씩 — 엔티티 수에 비례하는 고정 비용, 객체 생성 없음)
+ *  - sleep:    활성 청크 밖 엔티티는 BodyStore.SLEEPING (그 아래엔 충돌 사각형이 없으므로 떨어지지 않게)
+ *  - enemy:    좌우로 걷다 벽에 막히면 돌아선다. 밟히면 죽고, 옆에서 닿으면 PLAYER_HIT
+ *  - platform: 시작점 ↔ 시작점+(moveX, moveY) 왕복. 위에 선 플레이어를 함께 옮긴다(한 방향 발판)
+ *  - coin:     플레이어와 겹치면 점수
+ *
+ * 죽은 엔티티는 free 목록으로 돌아가고 다음 spawn이 슬롯(과 BodyStore 슬롯)을 재사용한다.
+ * Map.entities의 kind 중 pipe/flag는 예전 표시용이라 생성하지 않는다.
+ */
+public class EntityWorld {
+
+    // === 종류 ===
+    public static final byte NONE = 0;
+    public static final byte COIN = 1;
+    public static final byte ENEMY = 2;
+    public static final byte PLATFORM = 3;
+
+    // === update 결과 비트 ===
+    public static final int PLAYER_HIT = 1;   // 적과 부딪힘 → 월드가 사망 처리
+
+    // === 기본값 (EntityDef에서 0이면) ===
+    public static final float COIN_WIDTH = 30f, COIN_HEIGHT = 24f;   // coin.jpg 비율(5:4)
+    public static final float ENEMY_SIZE = 32f;
+    public static final float ENEMY_SPEED = 60f;                     // px/s
+    public static final float PLATFORM_WIDTH = 100f, PLATFORM_HEIGHT = 20f;
+    public static final float PLATFORM_TRAVEL = 150f;                // moveX/moveY가 모두 0일 때 가로 이동 거리
+    public static final float PLATFORM_SPEED = 60f;
+
+    public static final int COIN_SCORE = 10;
+    public static final int STOMP_SCORE = 100;
+    private static final float STOMP_BOUNCE = 0.5f;   // 밟은 뒤 튀어 오르는 속도(점프 속도 비율)
+    private static final float LAND_TOLERANCE = 0.5f; // 발판 윗면 착지 판정 여유(px)
+
+    private final BodyStore bodies;
+
+    // === 컴포넌트 (슬롯 색인) ===
+    public byte[] kind;
+    public int[] body;                   // BodyStore 슬롯
+    public float[] homeX, homeY;         // 생성 위치(발판 왕복 기준)
+    public float[] moveX, moveY;         // 발판 이동 범위
+    public float[] speed;                // 적 걷기/발판 이동 속도(px/s)
+    public float[] phase;                // 발판: 0~2 왕복 진행도 / 적: 걷는 방향(+1/-1)
+
+    private int highWater = 0;
+    private int live = 0;
+    private final IntArray free = new IntArray();
+
+    private int riding = -1;             // 플레이어가 서 있는 발판(-1 = 없음)
+    private int collected, stomped;
+    private final Rectangle playerBox = new Rectangle();
+    private final Rectangle otherBox = new Rectangle();
+
+    public EntityWorld(BodyStore bodies, int initialCapacity) {
+        this.bodies = bodies;
+        allocate(Math.max(4, initialCapacity));
+    }
+
+    // ---------------------------
+    // 생성/해제
+    // ---------------------------
+    /** 레벨 교체: 모든 엔티티를 버리고 맵 정의에서 다시 만든다 (BodyStore는 호출 측이 이미 비움) */
+    public void reset(Map map) {
+        for (int i = 0; i < highWater; i++) kind[i] = NONE;
+        highWater = 0;
+        live = 0;
+        free.clear();
+        riding = -1;
+        collected = stomped = 0;
+        if (map == null) return;
+        for (Map.MapData.EntityDef def : map.getEntities()) spawn(def);
+    }
+
+    /** EntityDef.kind → 종류 (표시용/모르는 kind는 NONE) */
+    public static byte kindOf(String name) {
+        if ("coin".equalsIgnoreCase(name)) return COIN;
+        if ("enemy".equalsIgnoreCase(name)) return ENEMY;
+        if ("platform".equalsIgnoreCase(name)) return PLATFORM;
+        return NONE;
+    }
+
+    /** 맵 정의로 생성. 생성하지 않는 kind면 -1 */
+    public int spawn(Map.MapData.EntityDef def) {
+        byte k = kindOf(def.kind);
+        switch (k) {
+            case COIN:
+                return spawn(COIN, def.x, def.y, orDefault(def.w, COIN_WIDTH), orDefault(def.h, COIN_HEIGHT), 0f, 0f, 0f);
+            case ENEMY:
+                return spawn(ENEMY, def.x, def.y, orDefault(def.w, ENEMY_SIZE), orDefault(def.h, ENEMY_SIZE),
+                    0f, 0f, orDefault(def.speed, ENEMY_SPEED));
+            case PLATFORM: {
+                float mx = def.dx, my = def.dy;
+                if (mx == 0f && my == 0f) mx = PLATFORM_TRAVEL;
+                return spawn(PLATFORM, def.x, def.y, orDefault(def.w, PLATFORM_WIDTH), orDefault(def.h, PLATFORM_HEIGHT),
+                    mx, my, orDefault(def.speed, PLATFORM_SPEED));
+            }
+            default:
+                return -1;
+        }
+    }
+
+    public int spawn(byte k, float x, float y, float w, float h, float mx, float my, float spd) {
+        int e;
+        if (free.size > 0) {
+            e = free.pop();
+        } else {
+            if (highWater == kind.length) allocate(kind.length * 2);
+            e = highWater++;
+        }
+        int bodyFlags;
+        switch (k) {
+            case ENEMY: bodyFlags = BodyStore.GRAVITY | BodyStore.COLLIDES | BodyStore.WATER_DRAG; break;
+            default:    bodyFlags = BodyStore.KINEMATIC; break; // 코인/발판은 시스템이 직접 옮긴다
+        }
+        kind[e] = k;
+        body[e] = bodies.create(x, y, w, h, bodyFlags);
+        homeX[e] = x;
+        homeY[e] = y;
+        moveX[e] = mx;
+        moveY[e] = my;
+        speed[e] = spd;
+        phase[e] = (k == ENEMY) ? -1f : 0f; // 적은 왼쪽(플레이어 쪽)부터
+        live++;
+        return e;
+    }
+
+    /** 슬롯을 풀로 돌려준다 (BodyStore 슬롯도 함께) */
+    public void despawn(int e) {
+        if (kind[e] == NONE) return;
+        bodies.destroy(body[e]);
+        kind[e] = NONE;
+        body[e] = -1;
+        if (riding == e) riding = -1;
+        free.add(e);
+        live--;
+    }
+
+    // ---------------------------
+    // 시스템
+    // ---------------------------
+    /** 적분 전: 잠들기/깨우기 + 적 걷기 속도 */
+    public void beforePhysics(LevelStreamer streamer) {
+        final byte[] kind = this.kind;
+        final int[] body = this.body;
+        final int[] flags = bodies.flags;
+        for (int e = 0, n = highWater; e < n; e++) {
+            if (kind[e] == NONE) continue;
+            int b = body[e];
+            boolean awake = streamer.isActive(Map.chunkIndex(bodies.x[b] + bodies.w[b] * 0.5f));
+            if (awake) flags[b] &= ~BodyStore.SLEEPING;
+            else { flags[b] |= BodyStore.SLEEPING; continue; }
+
+            if (kind[e] == ENEMY) bodies.vx[b] = phase[e] * speed[e];
+        }
+    }
+
+    /**
+     * 플레이어 충돌 처리 후: 발판 이동/태우기, 적 방향 전환/접촉, 코인 줍기.
+     * @return 결과 비트(PLAYER_HIT)
+     */
+    public int afterPhysics(float dt, GameCharacter player, float killBelowY) {
+        int result = 0;
+        final byte[] kind = this.kind;
+        final int[] body = this.body;
+        final int[] flags = bodies.flags;
+        final float[] x = bodies.x, y = bodies.y, w = bodies.w, h = bodies.h;
+        Rectangle pr = playerBox.set(player.position.x, player.position.y, player.getWidth(), player.getHeight());
+
+        // 1) 발판: 먼저 옮기고, 그 위에 있던(또는 이번 틱 착지한) 플레이어를 태운다
+        int nextRiding = -1;
+        for (int e = 0, n = highWater; e < n; e++) {
+            if (kind[e] != PLATFORM) continue;
+            int b = body[e];
+            if ((flags[b] & BodyStore.SLEEPING) != 0) continue;
+            float len = (float) Math.sqrt(moveX[e] * moveX[e] + moveY[e] * moveY[e]);
+            float p = phase[e] + (len > 0f ? speed[e] * dt / len : 0f);
+            if (p >= 2f) p -= 2f;
+            phase[e] = p;
+            float t = p <= 1f ? p : 2f - p; // 왕복(삼각파)
+            x[b] = homeX[e] + moveX[e] * t;
+            y[b] = homeY[e] + moveY[e] * t;
+
+            if (player.velocity.y > 0f) continue; // 올라가는 중에는 아래에서 통과
+            if (pr.x + pr.width <= x[b] || x[b] + w[b] <= pr.x) continue;
+            float top = y[b] + h[b], prevTop = bodies.prevY[b] + h[b];
+            boolean landing = player.prevPosition.y >= prevTop - LAND_TOLERANCE && pr.y <= top;
+            if (riding == e || landing) {
+                player.position.x += x[b] - bodies.prevX[b];
+                player.position.y = top;
+                player.velocity.y = 0f;
+                player.isGrounded = true;
+                pr.setPosition(player.position.x, player.position.y);
+                nextRiding = e;
+            }
+        }
+        riding = nextRiding;
+
+        // 2) 적: 벽에 막혔으면(스윕이 vx를 지움) 돌아서고, 플레이어와 닿으면 밟기/피격
+        for (int e = 0, n = highWater; e < n; e++) {
+            if (kind[e] != ENEMY) continue;
+            int b = body[e];
+            if ((flags[b] & BodyStore.SLEEPING) != 0) continue;
+            if (y[b] + h[b] < killBelowY) { despawn(e); continue; } // 구덩이로 떨어짐
+            if (bodies.vx[b] == 0f) phase[e] = -phase[e];
+
+            if (!pr.overlaps(otherBox.set(x[b], y[b], w[b], h[b]))) continue;
+            boolean stomp = player.velocity.y < 0f && player.prevPosition.y >= bodies.prevY[b] + h[b] - LAND_TOLERANCE;
+            if (stomp) {
+                despawn(e);
+                stomped++;
+                player.velocity.y = player.jumpVelocity * STOMP_BOUNCE;
+            } else {
+                result |= PLAYER_HIT;
+            }
+        }
+
+        // 3) 코인
+        for (int e = 0, n = highWater; e < n; e++) {
+            if (kind[e] != COIN) continue;
+            int b = body[e];
+            if ((flags[b] & BodyStore.SLEEPING) != 0) continue;
+            if (pr.overlaps(otherBox.set(x[b], y[b], w[b], h[b]))) {
+                despawn(e);
+                collected++;
+            }
+        }
+        return result;
+    }
+
+    /** 이번 레벨에서 얻은 점수 */
+    public int getScore() { return collected * COIN_SCORE + stomped * STOMP_SCORE; }
+
+    public int getCoinsCollected() { return collected; }
+    public int getEnemiesStomped() { return stomped; }
+    public int size()              { return live; }
+    public int capacity()          { return highWater; }
+
+    /** 종류별 살아 있는 수 (통계/테스트용 — 한 루프) */
+    public int count(byte k) {
+        int n = 0;
+        for (int e = 0; e < highWater; e++) if (kind[e] == k) n++;
+        return n;
+    }
+
+    // ---------------------------
+    // 내부
+    // ---------------------------
+    private static float orDefault(float v, float fallback) {
+        return v > 0f ? v : fallback;
+    }
+
+    private void allocate(int cap) {
+        byte[] nk = new byte[cap];
+        if (kind != null) System.arraycopy(kind, 0, nk, 0, kind.length);
+        kind = nk;
+        int[] nb = new int[cap];
+        if (body != null) System.arraycopy(body, 0, nb, 0, body.length);
+        body = nb;
+        homeX = grow(homeX, cap);
+        homeY = grow(homeY, cap);
+        moveX = grow(moveX, cap);
+        moveY = grow(moveY, cap);
+        speed = grow(speed, cap);
+        phase = grow(phase, cap);
+    }
+
+    private static float[] grow(float[] a, int cap) {
+        float[] n = new float[cap];
+        if (a != null) System.arraycopy(a, 0, n, 0, a.length);
+        return n;
+    }
+}
@@ -0,0 +1,42 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * maps/levelN.json 디렉터리에서 레벨을 읽는 기본 구현.
+ * 같은 이름의 컴파일된 levelN.mlvl(MapCompiler)이 있고 JSON보다 오래되지 않았으면 그쪽을 읽는다.
+ * 빌드가 만든 .mlvl은 리소스(클래스패스)로 들어가 수정 시각이 0이다: 배포 jar에서는 JSON도 같으므로 .mlvl을,
+ * assets/에서 실행하는 개발 중에는 편집 중인 JSON을 읽는다.
+ * - 게임: new FileLevelSource(Gdx.files.internal("maps"))
+ * - 헤드리스: new FileLevelSource(new FileHandle("assets/maps"))
+ */
+public class FileLevelSource implements LevelSource {
+
+    private final FileHandle mapsDir;
+
+    public FileLevelSource(FileHandle mapsDir) {
+        this.mapsDir = mapsDir;
+    }
+
+    @Override
+    public Map load(int level) {
+        FileHandle file = mapFile(level);
+        if (!file.exists()) return null;
+        return new Map(level, file);
+    }
+
+    /** 실제로 읽을 파일: 최신 .mlvl이 있으면 그것, 아니면 JSON */
+    public FileHandle mapFile(int level) {
+        FileHandle json = jsonFile(level);
+        FileHandle compiled = mapsDir.child("level" + level + "." + MapFormat.EXTENSION);
+        if (compiled.exists() && (!json.exists() || compiled.lastModified() >= json.lastModified())) return compiled;
+        return json;
+    }
+
+    /** 디자이너가 편집하는 원본 JSON */
+    public FileHandle jsonFile(int level) {
+        return mapsDir.child("level" + level + ".json");
+    }
+
+    public FileHandle getMapsDir() { return mapsDir; }
+}
@@ -0,0 +1,53 @@
+package io.jbnu.test;
+
+/**
+ * 고정 간격 시뮬레이션용 누산기.
+ * - 렌더 프레임의 가변 delta를 누적해, 고정 dt 틱을 몇 번 돌릴지 알려준다
+ * - 한 프레임에서 따라잡을 최대 틱 수를 제한(히치 후 '죽음의 나선' 방지)
+ * - 남은 누산량으로 렌더 보간 계수(alpha)를 계산
+ *
+ * 사용법:
+ *   int steps = stepper.advance(Gdx.graphics.getDeltaTime());
+ *   for (int i = 0; i < steps; i++) world.update(stepper.getStep(), input);
+ *   float alpha = stepper.getAlpha();  // 이전 ↔ 현재 상태 보간
+ */
+public class FixedTimestep {
+
+    private final float step;          // 틱 간격(초)
+    private final int maxStepsPerFrame;
+    private float accumulator = 0f;
+
+    public FixedTimestep(float ticksPerSecond, int maxStepsPerFrame) {
+        if (ticksPerSecond <= 0f) throw new IllegalArgumentException("ticksPerSecond must be > 0");
+        if (maxStepsPerFrame < 1) throw new IllegalArgumentException("maxStepsPerFrame must be >= 1");
+        this.step = 1f / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /** 프레임 시간을 누적하고, 이번 프레임에 돌릴 틱 수를 반환 */
+    public int advance(float frameDelta) {
+        if (frameDelta > 0f) accumulator += frameDelta;
+
+        int steps = (int) (accumulator / step);
+        if (steps > maxStepsPerFrame) {
+            // 따라잡기 한도 초과분은 버린다(시뮬레이션이 잠깐 느려지는 쪽을 택함)
+            steps = maxStepsPerFrame;
+            accumulator = step * steps;
+        }
+        accumulator -= step * steps;
+        return steps;
+    }
+
+    /** 0.0 ~ 1.0: 마지막 틱 이후 다음 틱까지 진행된 비율 */
+    public float getAlpha() {
+        float a = accumulator / step;
+        return a < 0f ? 0f : (a > 1f ? 1f : a);
+    }
+
+    /** 일시정지/레벨 전환 등으로 누적 시간을 버릴 때 */
+    public void reset() { accumulator = 0f; }
+
+    public float getStep() { return step; }
+    public float getTicksPerSecond() { return 1f / step; }
+    public int getMaxStepsPerFrame() { return maxStepsPerFrame; }
+}
@@ -1,47 +1,37 @@
 package io.jbnu.test;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 
 public class Flag {
-    public Sprite sprite;
+    public static final int WIDTH = 50;
+    public static final int HEIGHT = 200;
+
     private float xPos;
     private float yPos;
-    private static int width;
-    private static int height;
     public Rectangle bound;
 
-    public Flag(float x, float y, Texture flagTexture) {
+    public Flag(float x, float y) {
         xPos = x;
         yPos = y;
-        width = 50;
-        height = 200;
-        this.sprite = new Sprite(flagTexture);
-        this.sprite.setPosition(xPos, yPos);
-        this.sprite.setSize(width, height);
-
-        bound = new Rectangle();
+        bound = new Rectangle(xPos, yPos, WIDTH, HEIGHT);
     }
 
     public static int getWidth() {
-        return width;
+        return WIDTH;
     }
 
     public static int getHeight() {
-        return height;
+        return HEIGHT;
     }
 
-    public void draw(SpriteBatch batch) {
-        sprite.draw(batch);
-    }
+    public float getX() { return xPos; }
+    public float getY() { return yPos; }
 
     public Rectangle getBound(){
         bound.x = xPos;
         bound.y = yPos;
-        bound.width = width;
-        bound.height = height;
+        bound.width = WIDTH;
+        bound.height = HEIGHT;
         return bound;
     }
 }
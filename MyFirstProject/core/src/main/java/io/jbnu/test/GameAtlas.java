@@ -0,0 +1,112 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * 레벨/캐릭터 스프라이트를 첫 로드 때 한두 장의 페이지로 묶는 런타임 아틀라스.
+ * 블록·파이프·깃발·플레이어 프레임이 같은 텍스처를 쓰므로 SpriteBatch가 텍스처 교체로 flush하지 않는다.
+ *
+ * 큰 원본(블록 220x230, 깃발 900x1235, 코인 900x720)은 화면에 그려지는 크기의 2배로 줄여서 넣는다.
+ * 배경(반복 UV)과 폰트는 아틀라스 밖에 둔다.
+ */
+public class GameAtlas implements Disposable {
+
+    public static final String BLOCK = "block";
+    public static final String PIPE_UP = "pipe";
+    public static final String PIPE_DOWN = "pipedown";
+    public static final String FLAG = "flag";
+    public static final String COIN = "coin";
+    public static final String WHITE = "white";
+    public static final String WALK = "walk";   // walk_0, walk_1 ...
+    public static final String SWIM = "swim";
+
+    private static final int PAGE_SIZE = 1024;
+
+    private final PixmapPacker packer;
+    private final TextureAtlas atlas;
+    private float walkFrameDuration = 0.1f;
+    private float swimFrameDuration = 0.1f;
+
+    public GameAtlas() {
+        // padding 2 + 테두리 복제: 인접 영역 번짐 방지
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 2, true);
+
+        packFile(BLOCK, "block.png", TileGrid.CELL_SIZE * 2, TileGrid.CELL_SIZE * 2);
+        packFile(PIPE_UP, "pipe.png", 0, 0);
+        packFile(PIPE_DOWN, "pipedown.png", 0, 0);
+        packFile(FLAG, "flag.png", Flag.WIDTH * 2, Flag.HEIGHT * 2);
+        packFile(COIN, "coin.jpg", 180, 144);
+
+        // 흰 영역: 페이드 오버레이(틴트) + GIF가 없을 때 기본 플레이어 크기 대체 프레임
+        Pixmap white = new Pixmap((int) GameWorld.DEFAULT_PLAYER_WIDTH, (int) GameWorld.DEFAULT_PLAYER_HEIGHT,
+            Pixmap.Format.RGBA8888);
+        white.setColor(1, 1, 1, 1);
+        white.fill();
+        packer.pack(WHITE, white);
+        white.dispose();
+
+        walkFrameDuration = packGif(WALK, "mario.gif");
+        swimFrameDuration = packGif(SWIM, "swim.gif");
+
+        atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        Gdx.app.log("ATLAS", "packed " + atlas.getRegions().size + " regions into " + atlas.getTextures().size + " page(s)");
+    }
+
+    public TextureRegion region(String name) {
+        return atlas.findRegion(name);
+    }
+
+    /** GIF 프레임 애니메이션. 프레임이 없으면 null */
+    public Animation<TextureRegion> animation(String name, Animation.PlayMode mode) {
+        Array<TextureAtlas.AtlasRegion> regions = atlas.findRegions(name);
+        if (regions.size == 0) return null;
+        Array<TextureRegion> frames = new Array<TextureRegion>(regions.size);
+        for (TextureAtlas.AtlasRegion r : regions) frames.add(r);
+        float duration = WALK.equals(name) ? walkFrameDuration : swimFrameDuration;
+        Animation<TextureRegion> anim = new Animation<TextureRegion>(duration, frames);
+        anim.setPlayMode(mode);
+        return anim;
+    }
+
+    // ---------------------------
+    // 패킹
+    // ---------------------------
+    /** maxW/maxH가 0보다 크고 원본이 더 크면 그 크기로 줄여서 넣는다 */
+    private void packFile(String name, String path, int maxW, int maxH) {
+        Pixmap src = new Pixmap(Gdx.files.internal(path));
+        Pixmap packed = src;
+        if (maxW > 0 && maxH > 0 && (src.getWidth() > maxW || src.getHeight() > maxH)) {
+            packed = new Pixmap(maxW, maxH, src.getFormat());
+            packed.setFilter(Pixmap.Filter.BiLinear);
+            packed.drawPixmap(src, 0, 0, src.getWidth(), src.getHeight(), 0, 0, maxW, maxH);
+            src.dispose();
+        }
+        packer.pack(name, packed);
+        packed.dispose();
+    }
+
+    private float packGif(String name, String path) {
+        if (!Gdx.files.internal(path).exists()) return 0.1f;
+        GifDecoder.Frames frames = GifDecoder.decodeFrames(Gdx.files.internal(path).readBytes());
+        for (int i = 0; i < frames.pixmaps.size; i++) {
+            packer.pack(name + "_" + i, frames.pixmaps.get(i));
+        }
+        float duration = frames.frameDuration;
+        frames.dispose();
+        return duration;
+    }
+
+    @Override
+    public void dispose() {
+        atlas.dispose();
+        packer.dispose();
+    }
+}
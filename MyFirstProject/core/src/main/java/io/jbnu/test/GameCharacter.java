@@ -1,7 +1,5 @@
 package io.jbnu.test;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
@@ -10,6 +8,8 @@ public class GameCharacter {
     // === 상태(위치/속도/접지) ===
     public final Vector2 position = new Vector2();
     public final Vector2 velocity = new Vector2();
+    // 직전 틱 위치(고정 틱 렌더 보간용)
+    public final Vector2 prevPosition = new Vector2();
     public boolean isGrounded = false;
 
     // === 이동/점프 파라미터 (GameWorld가 읽어서 사용) ===
@@ -31,18 +31,21 @@ public class GameCharacter {
     private boolean swimUpRequested = false;
     private int desiredSwimY = 0;
 
-    // === 렌더링 관련(월드가 애니메이션 상태만 결정) ===
+    // === 렌더링 관련(월드가 애니메이션 상태만 결정, 그리기는 Main) ===
     public enum Anim { IDLE, RUN, JUMP, SWIM }
     public Anim anim = Anim.IDLE;
     public boolean facingLeft = false;
-    public final Sprite sprite;
+    private final float width;   // 충돌 크기(첫 애니메이션 프레임 크기)
+    private final float height;
+    private final Rectangle bounds = new Rectangle();
     private boolean isDead;
     private float startX, startY;
 
-    public GameCharacter(Vector2 startPos, Texture texture) {
+    public GameCharacter(Vector2 startPos, float width, float height) {
         this.position.set(startPos);
-        this.sprite = new Sprite(texture);
-        syncSpriteToPosition();
+        this.prevPosition.set(startPos);
+        this.width = width;
+        this.height = height;
         this.isDead = false;
         startX = startPos.x;
         startY = startPos.y;
@@ -80,9 +83,9 @@ public class GameCharacter {
     public float getSwimSpeed()    { return swimSpeed; }
     public float getWaterDrag()    { return waterDrag; }
     public float getMaxSwimVy()    { return maxSwimVy; }
+    /** 재사용 사각형을 갱신해 반환(매 프레임 할당 없음) */
     public Rectangle getBounds() {
-        Rectangle bound = new Rectangle(position.x, position.y, sprite.getWidth(), sprite.getHeight());
-        return bound;
+        return bounds.set(position.x, position.y, width, height);
     }
 
     public void kill() {
@@ -93,6 +96,7 @@ public class GameCharacter {
     public void respawnAtStart() {
         this.position.set(startX, startY);
         this.isDead = false;
+        snapPrevious(); // 순간이동은 보간하지 않음
     }
 
     public void setStartPosition(float x, float y) {
@@ -100,11 +104,17 @@ public class GameCharacter {
         this.startY = y;
     }
 
-    // === 스프라이트 위치 동기화 ===
-    public void syncSpriteToPosition() {
-        sprite.setPosition(position.x, position.y);
-    }
+    // === 고정 틱 보간 ===
+    /** 틱 시작 시 현재 위치를 이전 위치로 보관 */
+    public void savePreviousState() { prevPosition.set(position); }
+
+    /** 순간이동(리스폰/레벨 시작) 후 보간 잔상을 없앤다 */
+    public void snapPrevious() { prevPosition.set(position); }
+
+    /** alpha(0~1)로 이전 ↔ 현재 틱 위치를 보간한 렌더 좌표 */
+    public float getRenderX(float alpha) { return prevPosition.x + (position.x - prevPosition.x) * alpha; }
+    public float getRenderY(float alpha) { return prevPosition.y + (position.y - prevPosition.y) * alpha; }
 
-    public float getWidth()  { return sprite.getWidth(); }
-    public float getHeight() { return sprite.getHeight(); }
+    public float getWidth()  { return width; }
+    public float getHeight() { return height; }
 }
@@ -1,9 +1,5 @@
 package io.jbnu.test;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
@@ -13,19 +9,40 @@ import com.badlogic.gdx.utils.Array;
  * 본 클래스는:
  *  - 캐릭터 이동 '의도'만 GameCharacter에 전달
  *  - 물리(중력/마찰/수중 드래그/점프·수영), 충돌, 파이프, 레벨 전환, 애니메이션 상태 결정까지 담당
+ *
+ * 텍스처/사운드/Gdx 정적 객체에 의존하지 않는 순수 시뮬레이션이다.
+ * 레벨은 LevelSource로 받고, 효과음 등 표현은 Listener로 바깥에 알린다.
  */
 public class GameWorld {
 
     // === 레벨 타입 ===
     public enum LevelType { GROUND, UNDERWATER }
 
+    /** 표현 계층(사운드 등)이 구독하는 월드 이벤트 */
+    public interface Listener {
+        void onPipeTransition();
+        void onFlagTransition();
+    }
+
     // === 월드 상수 ===
     public static final float WORLD_GRAVITY = -9.8f * 200f; // px/s^2
     public static final float FLOOR_LEVEL = 0f;
+    // 레벨 시작(리스폰) 위치
+    public static final float SPAWN_X = 128f;
+    public static final float SPAWN_Y = 256f;
     // 전환/효과
     private final TransitionEffect transition = new TransitionEffect(0.35f, 0.35f);
-    private Texture overlayTex; // 1x1 화이트
-    private Sound sfxPipe, sfxFlag;
+    private Listener listener;
+    // 페이드 전환 사용 여부. 끄면(기본, 헤드리스) 트리거 틱에 바로 동기 로드한다
+    private boolean transitions = false;
+    private final Runnable swapToNextLevel = new Runnable() {
+        @Override public void run() { goNextLevel(); }
+    };
+    private final TransitionEffect.Gate nextLevelReady = new TransitionEffect.Gate() {
+        @Override public boolean isReady() {
+            return !(levels instanceof AsyncLevelSource) || ((AsyncLevelSource) levels).isReady(level + 1);
+        }
+    };
     // === 수중 보정 상수 ===
     private static final float WATER_GRAVITY_SCALE = 0.35f; // 중력 약화
     private static final float WATER_DRAG          = 4.0f;  // 속도 감쇠
@@ -35,56 +52,102 @@ public class GameWorld {
     private int swimHoldDir = 0; // -1: 아래, 0: 없음, 1: 위
     private static final float SWIM_HOLD_SPEED = 120f;
     private static final float MAX_SWIM_VY     = 220f;
-    private Array<Block> blocks;
-    private Array<CoinObject> coins;
     private Array<Pipe> pipes;
     private Flag flag;
+    private Broadphase<Rectangle> solids;   // 스트리머의 활성 청크 충돌 사각형
+    private Broadphase<Object> triggers;
+
+    // 브로드페이즈 질의 결과 재사용 버퍼
+    private final Array<Rectangle> solidHits = new Array<>();
+    private final Array<Object> triggerHits = new Array<>();
+    private final Rectangle queryRect = new Rectangle();
+    private final Rectangle playerRect = new Rectangle();
+
+    // 연속(스윕) 충돌: 큰 dt에서도 블록을 통과하지 않도록 이동 경로 전체를 검사
+    private static final int MAX_SWEEP_ITERATIONS = 4; // 한 틱에 미끄러지며 부딪힐 수 있는 최대 면 수
+    private static final float SWEEP_SKIN = 0.01f;     // 접촉 면에서 살짝 떨어뜨리는 거리(px)
+    private boolean continuousCollision = true;
+    private final SweptAabb sweeper = new SweptAabb();
+
+    // 동적 물체(SoA). 플레이어도 한 슬롯을 차지해 같은 적분 루프를 탄다
+    private final BodyStore bodies = new BodyStore(64);
+    private int playerBody = -1;
+    // 맵 엔티티(코인/적/발판). 위치는 bodies 슬롯에 있다
+    private final EntityWorld entities = new EntityWorld(bodies, 64);
 
     private Map currentMap;
+    // 지면은 플레이어 주변 청크만 올린다(레벨 길이와 무관한 메모리/로딩 시간)
+    private final LevelStreamer streamer = new LevelStreamer(null);
     private int level = 1;
     private int score = 0;
+    private boolean gameCleared = false;
+    private int deaths = 0;   // 누적 사망 횟수(배치 실행/QA 통계)
+    private long ticks = 0;   // 누적 update 호출 수
 
     private LevelType levelType = LevelType.GROUND;
 
-    // (간단) 리소스 — 실제 프로젝트에서는 AssetManager로 관리 권장
-    private final Texture playerTexture;
+    // 기본 플레이어 크기(mario.gif 프레임)
+    public static final float DEFAULT_PLAYER_WIDTH  = 16f;
+    public static final float DEFAULT_PLAYER_HEIGHT = 32f;
 
-    public GameWorld(Texture initialTexture) {
-        this.playerTexture = initialTexture;
-        loadLevel(level);
+    private final LevelSource levels;
+    private final float playerWidth, playerHeight;
 
-        sfxPipe = Gdx.audio.newSound(Gdx.files.internal("pipe.wav"));
-        sfxFlag = Gdx.audio.newSound(Gdx.files.internal("flag.wav"));
+    public GameWorld(LevelSource levels) {
+        this(levels, DEFAULT_PLAYER_WIDTH, DEFAULT_PLAYER_HEIGHT);
+    }
+
+    public GameWorld(LevelSource levels, float playerWidth, float playerHeight) {
+        this(levels, 1, playerWidth, playerHeight);
+    }
+
+    /** startLevel부터 시작(배치 실행에서 특정 레벨만 검증할 때) */
+    public GameWorld(LevelSource levels, int startLevel, float playerWidth, float playerHeight) {
+        this.levels = levels;
+        this.playerWidth = playerWidth;
+        this.playerHeight = playerHeight;
+        this.level = startLevel;
+        loadLevel(level);
     }
 
+    public void setListener(Listener listener) { this.listener = listener; }
+
     // ---------------------------
     // 레벨 로딩
     // ---------------------------
     private void loadLevel(int lev) {
-        if (lev >= 4) { // level3 다음
-            System.out.println("게임 클리어! 종료합니다.");
-            Gdx.app.exit(); // 게임 종료
+        Map next = levels.load(lev);
+        if (next == null) { // 마지막 레벨 다음 — 종료 여부는 바깥(Main)이 결정
+            gameCleared = true;
             return;
         }
-        currentMap = new Map(lev);
+        currentMap = next;
 
-        blocks = currentMap.getBlocks();
         pipes  = currentMap.getPipes();
         flag   = currentMap.getFlag();
+        streamer.reset(currentMap);
+        solids   = streamer.getSolids();
+        triggers = currentMap.getTriggers();
 
         levelType = currentMap.isUnderwater() ? LevelType.UNDERWATER : LevelType.GROUND;
 
         if (player == null) {
-            player = new GameCharacter(new Vector2(128, 256), playerTexture);
+            player = new GameCharacter(new Vector2(SPAWN_X, SPAWN_Y), playerWidth, playerHeight);
         } else {
             // 레벨 시작 시 간단한 리스폰 위치
-            player.position.set(128, 256);
+            player.position.set(SPAWN_X, SPAWN_Y);
             player.velocity.set(0, 0);
             player.isGrounded = false;
-            player.syncSpriteToPosition();
+            player.snapPrevious();
         }
 
-        coins = new Array<>(); // 필요 시 맵에 맞춰 채우기
+        // 레벨 단위로 동적 물체 초기화(플레이어 슬롯 재생성)
+        bodies.clear();
+        playerBody = bodies.create(player.position.x, player.position.y,
+            player.getWidth(), player.getHeight(), BodyStore.GRAVITY | BodyStore.WATER_DRAG);
+        entities.reset(currentMap);
+        streamFocus();
+
         score = 0;
     }
 
@@ -92,6 +155,16 @@ public class GameWorld {
     // 메인 업데이트
     // ---------------------------
     public void update(float delta, InputState input) {
+        if (transition.isActive()) {
+            // 페이드/로딩 중에는 월드를 멈춘다. 틱도 세지 않으므로 동기 전환과 같은 입력열로 재생된다
+            player.savePreviousState();
+            transition.update(delta);
+            return;
+        }
+        ticks++;
+        // 0) 렌더 보간용 이전 상태 보관 + 플레이어 주변 청크 스트리밍(리스폰 위치 포함)
+        player.savePreviousState();
+        streamFocus();
 
         // 1) 이동 '의도'만 캐릭터에 전달
         if (input.left ^ input.right) {
@@ -121,30 +194,24 @@ public class GameWorld {
             swimHoldDir = 0;
         }
 
+        entities.beforePhysics(streamer);
         applyPhysics(delta);
 
-        // 3) 블록 충돌
+        // 3) 블록 충돌 (연속 모드: 스윕 이동 후, 남은 겹침만 최소침투로 정리)
+        if (continuousCollision) sweepPlayer(delta);
         resolveBlockCollision();
+        clampToFloor();
 
-        //죽음 체크
-        if (player.position.y <= FLOOR_LEVEL) {
-            player.kill();
-            player.respawnAtStart();
-        }
-
-        // 4) 파이프(레벨 전환)
-        handlePipeEnter(input);
+        // 3-1) 엔티티 시스템(발판 태우기/적/코인)
+        if ((entities.afterPhysics(delta, player, FLOOR_LEVEL) & EntityWorld.PLAYER_HIT) != 0) killPlayer();
+        score = entities.getScore();
 
-        // 5) 깃발 → 다음 레벨
-        if (flag != null && playerRect().overlaps(flag.getBound())) {
-            goNextLevel();
-        }
+        // 4) 트리거(죽음 영역/파이프/깃발) — 브로드페이즈 후보만 검사
+        handleTriggers(input);
 
-        // 6) 애니메이션 상태 결정 (프레임 선택/그리기는 렌더 단계에서)
+        // 5) 애니메이션 상태 결정 (프레임 선택/그리기는 렌더 단계에서)
         updateAnimationState();
 
-        player.syncSpriteToPosition();
-
         transition.update(delta);
     }
 
@@ -186,20 +253,30 @@ public class GameWorld {
         }
 
 
-        // --- 중력/수중 드래그 ---
-        float gravity = WORLD_GRAVITY * (levelType == LevelType.UNDERWATER ? WATER_GRAVITY_SCALE : 1f);
-        player.velocity.y += gravity * delta;
+        // --- 중력/수중 드래그/적분: 모든 동적 물체(플레이어 포함)를 한 루프로 ---
+        final boolean underwater = (levelType == LevelType.UNDERWATER);
+        float gravity = WORLD_GRAVITY * (underwater ? WATER_GRAVITY_SCALE : 1f);
 
-        if (levelType == LevelType.UNDERWATER) {
-            player.velocity.x -= player.velocity.x * WATER_DRAG * delta;
-            player.velocity.y -= player.velocity.y * WATER_DRAG * delta;
-        }
+        int pf = bodies.flags[playerBody] & ~(BodyStore.KINEMATIC | BodyStore.FLOOR_CLAMP | BodyStore.GROUNDED);
+        // 연속 모드에서는 위치 이동을 sweepPlayer가 맡는다
+        if (continuousCollision) pf |= BodyStore.KINEMATIC;
+        else if (!underwater)    pf |= BodyStore.FLOOR_CLAMP;
+        bodies.flags[playerBody] = pf;
+        bodies.x[playerBody]  = player.position.x;
+        bodies.y[playerBody]  = player.position.y;
+        bodies.vx[playerBody] = player.velocity.x;
+        bodies.vy[playerBody] = player.velocity.y;
 
-        // --- 위치 적분 ---
-        player.position.x += player.velocity.x * delta;
-        player.position.y += player.velocity.y * delta;
+        bodies.integrate(delta, gravity, underwater ? WATER_DRAG : 0f, FLOOR_LEVEL);
+        bodies.collide(solids);
+
+        player.position.set(bodies.x[playerBody], bodies.y[playerBody]);
+        player.velocity.set(bodies.vx[playerBody], bodies.vy[playerBody]);
+        if ((bodies.flags[playerBody] & BodyStore.GROUNDED) != 0) player.isGrounded = true;
+    }
 
-        // --- 지상 바닥 클램프 ---
+    // --- 지상 바닥 클램프 ---
+    private void clampToFloor() {
         if (levelType == LevelType.GROUND && player.position.y < FLOOR_LEVEL) {
             player.position.y = FLOOR_LEVEL;
             player.velocity.y = 0f;
@@ -208,15 +285,78 @@ public class GameWorld {
     }
 
     // ---------------------------
-    // 충돌 처리 (AABB, 최소침투 해법)
+    // 연속 충돌 (Swept AABB): 이동 경로 위 첫 충돌 시점까지 이동 → 닿은 축 속도 제거 → 남은 이동으로 미끄러짐
     // ---------------------------
-    private void resolveBlockCollision() {
-        if (blocks == null || blocks.size == 0) return;
+    private void sweepPlayer(float delta) {
+        float dx = player.velocity.x * delta;
+        float dy = player.velocity.y * delta;
+        if (solids == null || solids.size() == 0) {
+            player.position.add(dx, dy);
+            return;
+        }
+
+        final float pw = player.getWidth();
+        final float ph = player.getHeight();
+
+        // 이번 틱 이동 전체를 덮는 영역으로 후보를 한 번만 수집
+        float minX = Math.min(player.position.x, player.position.x + dx);
+        float minY = Math.min(player.position.y, player.position.y + dy);
+        queryRect.set(minX, minY, pw + Math.abs(dx), ph + Math.abs(dy));
+        solidHits.clear();
+        solids.query(queryRect, solidHits);
+
+        for (int iter = 0; iter < MAX_SWEEP_ITERATIONS && (dx != 0f || dy != 0f); iter++) {
+            float px = player.position.x, py = player.position.y;
+            float toi = SweptAabb.NO_HIT;
+            int nx = 0, ny = 0;
+            for (int i = 0; i < solidHits.size; i++) {
+                float t = sweeper.sweep(px, py, pw, ph, dx, dy, solidHits.get(i));
+                if (t < toi) {
+                    toi = t;
+                    nx = sweeper.normalX;
+                    ny = sweeper.normalY;
+                }
+            }
+
+            if (toi >= SweptAabb.NO_HIT) {
+                player.position.add(dx, dy);
+                break;
+            }
+
+            // 접촉 직전까지 이동(면에서 SKIN만큼 띄움)
+            player.position.add(dx * toi + nx * SWEEP_SKIN, dy * toi + ny * SWEEP_SKIN);
+
+            // 남은 이동에서 법선 성분 제거 → 면을 따라 미끄러짐
+            float remain = 1f - toi;
+            dx *= remain;
+            dy *= remain;
+            if (nx != 0) {
+                dx = 0f;
+                player.velocity.x = 0f;
+            }
+            if (ny != 0) {
+                dy = 0f;
+                player.velocity.y = 0f;
+                if (ny > 0) player.isGrounded = true; // 위에서 내려와 착지
+            }
+        }
+    }
+
+    // ---------------------------
+    // 충돌 처리 (AABB, 최소침투 해법) — 병합된 충돌 사각형 대상
+    // ---------------------------
+    void resolveBlockCollision() {
+        if (solids == null || solids.size() == 0) return;
 
         Rectangle pr = playerRect();
 
-        for (Block b : blocks) {
-            Rectangle br = b.getBound();
+        // 분리 과정에서 밀려날 수 있는 거리(최대 플레이어 크기)만큼 넓혀 후보 수집
+        queryRect.set(pr.x - pr.width, pr.y - pr.height, pr.width * 3f, pr.height * 3f);
+        solidHits.clear();
+        solids.query(queryRect, solidHits);
+
+        for (int i = 0; i < solidHits.size; i++) {
+            Rectangle br = solidHits.get(i);
             if (!pr.overlaps(br)) continue;
 
             // 침투량 계산
@@ -265,30 +405,67 @@ public class GameWorld {
     }
 
     // ---------------------------
-    // 파이프 진입 (레벨 전환)
+    // 트리거 처리 (죽음 → 파이프 → 깃발 순)
     // ---------------------------
-    private void handlePipeEnter(InputState input) {
-        if (pipes == null || pipes.size == 0) return;
-
+    private void handleTriggers(InputState input) {
         Rectangle pr = playerRect();
-        for (Pipe pipe : pipes) {
+        triggerHits.clear();
+        if (triggers != null) triggers.query(pr, triggerHits);
+
+        // 죽음 체크: FLOOR_LEVEL 아래이거나 맵의 죽음 영역과 겹침
+        // (영역은 엄격한 겹침만 — 옆 블록에 밀려 영역 경계에 딱 붙은 것은 죽지 않는다)
+        boolean dead = player.position.y <= FLOOR_LEVEL;
+        for (int i = 0; i < triggerHits.size && !dead; i++) {
+            Object t = triggerHits.get(i);
+            if (t instanceof Rectangle && pr.overlaps((Rectangle) t)) dead = true;
+        }
+        if (dead) {
+            killPlayer();
+            return;
+        }
+
+        // 파이프(레벨 전환)
+        for (int i = 0; i < triggerHits.size; i++) {
+            Object t = triggerHits.get(i);
+            if (!(t instanceof Pipe)) continue;
+            Pipe pipe = (Pipe) t;
             if (!pr.overlaps(pipe.getBounds())) continue;
 
             if (pipe.getOrientation() == Pipe.Orientation.DOWN && input.up) {
-                goNextLevel(); // 1 -> 2
+                if (transitions) startPipeDownTransition(swapToNextLevel, nextLevelReady);
+                else goNextLevel(); // 1 -> 2
                 return;
             }
             if (pipe.getOrientation() == Pipe.Orientation.UP && input.down) {
-                goNextLevel(); // 2 -> 3
+                if (transitions) startPipeUpTransition(swapToNextLevel, nextLevelReady);
+                else goNextLevel(); // 2 -> 3
+                return;
+            }
+        }
+
+        // 깃발 → 다음 레벨
+        for (int i = 0; i < triggerHits.size; i++) {
+            Object t = triggerHits.get(i);
+            if (t instanceof Flag && pr.overlaps(((Flag) t).getBound())) {
+                if (transitions) startFlagClearTransition(swapToNextLevel, nextLevelReady);
+                else goNextLevel();
                 return;
             }
         }
     }
 
+    private void killPlayer() {
+        deaths++;
+        player.kill();
+        player.respawnAtStart();
+    }
+
     private void goNextLevel() {
-        if (coins != null)  coins.clear();
-        if (blocks != null) blocks.clear();
-        if (pipes != null)  pipes.clear();
+        if (gameCleared) return;
+        // 파이프/트리거 색인은 Map 소유 — 비우지 않고 참조만 놓는다
+        pipes = null;
+        flag = null;
+        triggers = null;
 
         level++;
         loadLevel(level);
@@ -319,8 +496,13 @@ public class GameWorld {
     // ---------------------------
     // 유틸
     // ---------------------------
+    private void streamFocus() {
+        streamer.update(player.position.x + player.getWidth() * 0.5f);
+    }
+
+    /** 플레이어 AABB (재사용 사각형을 갱신해 반환 — 다음 호출 전까지만 유효) */
     private Rectangle playerRect() {
-        return new Rectangle(
+        return playerRect.set(
             player.position.x,
             player.position.y,
             player.getWidth(),
@@ -329,36 +511,71 @@ public class GameWorld {
     }
 
     public void startPipeDownTransition(Runnable onMidpoint) {
-        if (transition.isActive()) return;
-        if (sfxPipe != null) sfxPipe.play(0.7f);
-        transition.start(onMidpoint);
+        startPipeDownTransition(onMidpoint, null);
     }
 
     public void startPipeUpTransition(Runnable onMidpoint) {
-        if (transition.isActive()) return;
-        if (sfxPipe != null) sfxPipe.play(0.7f);
-        transition.start(onMidpoint);
+        startPipeUpTransition(onMidpoint, null);
     }
 
     public void startFlagClearTransition(Runnable onMidpoint) {
+        startFlagClearTransition(onMidpoint, null);
+    }
+
+    /** gate가 준비될 때까지 LOADING(검은 화면)을 유지한다 */
+    public void startPipeDownTransition(Runnable onMidpoint, TransitionEffect.Gate gate) {
         if (transition.isActive()) return;
-        if (sfxFlag != null) sfxFlag.play(0.8f);
-        transition.start(onMidpoint);
+        if (listener != null) listener.onPipeTransition();
+        beginTransition(onMidpoint, gate);
     }
 
-    public float getTransitionAlpha() { return transition.getAlpha(); }
+    public void startPipeUpTransition(Runnable onMidpoint, TransitionEffect.Gate gate) {
+        if (transition.isActive()) return;
+        if (listener != null) listener.onPipeTransition();
+        beginTransition(onMidpoint, gate);
+    }
+
+    public void startFlagClearTransition(Runnable onMidpoint, TransitionEffect.Gate gate) {
+        if (transition.isActive()) return;
+        if (listener != null) listener.onFlagTransition();
+        beginTransition(onMidpoint, gate);
+    }
 
-    public void disposeFadeSfx() {
-        if (sfxPipe != null) sfxPipe.dispose();
-        if (sfxFlag != null) sfxFlag.dispose();
+    private void beginTransition(Runnable onMidpoint, TransitionEffect.Gate gate) {
+        // 페이드 아웃 동안 다음 레벨을 백그라운드에서 준비
+        if (levels instanceof AsyncLevelSource) ((AsyncLevelSource) levels).prepare(level + 1);
+        transition.start(onMidpoint, gate);
     }
 
+    /**
+     * 파이프/깃발에서 페이드 전환을 쓸지 여부 (게임 화면용).
+     * 끄면 트리거 틱에 바로 다음 레벨을 동기 로드한다(헤드리스 배치/재생의 기본값).
+     */
+    public void setTransitions(boolean on) { transitions = on; }
+    public boolean isTransitioning()       { return transition.isActive(); }
+
+    public float getTransitionAlpha() { return transition.getAlpha(); }
+
     // === 외부 접근자 ===
     public GameCharacter getPlayer() { return player; }
-    public Array<Block> getBlocks()  { return blocks; }
     public Array<Pipe> getPipes()    { return pipes; }
     public Flag getFlag()            { return flag;  }
     public boolean isUnderwater()    { return levelType == LevelType.UNDERWATER; }
     public int getLevel()            { return level; }
     public int getScore()            { return score; }
+    public Map getMap()              { return currentMap; }
+    public LevelStreamer getStreamer() { return streamer; }
+
+    /** 청크를 미리 만들 워커 (게임 화면용). 없으면 헤드리스처럼 필요한 청크만 동기로 만든다 */
+    public void setChunkWorker(java.util.concurrent.ExecutorService worker) { streamer.setWorker(worker); }
+    public BodyStore getBodies()     { return bodies; }
+    public EntityWorld getEntities() { return entities; }
+    public int getPlayerBody()       { return playerBody; }
+
+    /** 연속(스윕) 충돌 사용 여부. 끄면 이전처럼 적분 후 최소침투 분리만 한다 */
+    public void setContinuousCollision(boolean on) { continuousCollision = on; }
+    public boolean isContinuousCollision()          { return continuousCollision; }
+    public boolean isGameCleared()   { return gameCleared; }
+    public int getDeathCount()       { return deaths; }
+    public long getTickCount()       { return ticks; }
 }
@@ -9,130 +9,339 @@ import com.badlogic.gdx.utils.Array;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
-import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.stream.ImageInputStream;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Lightweight GIF -> Animation<TextureRegion> decoder for LibGDX (Java 8 compatible).
  * Works well for small sprite GIFs (e.g., mario.gif, swim.gif).
+ *
+ * - Frame metadata (offsets, disposal, delay) is read by scanning the raw GIF blocks, not the DOM tree
+ * - LZW decoding of frames runs in parallel, each task with its own ImageReader
+ * - Frames are composited onto the logical screen (partial frames + disposal methods)
+ * - ARGB -> RGBA conversion is written in bulk into the Pixmap's ByteBuffer
+ * - loadGIFAnimation uploads all frames as one sprite sheet texture
  */
 public class GifDecoder {
 
+    /** Below this many decoded pixels, decode on the calling thread (task overhead dominates) */
+    private static final int PARALLEL_PIXEL_THRESHOLD = 256 * 256;
+
+    // GIF disposal methods (Graphic Control Extension)
+    private static final int DISPOSE_BACKGROUND = 2;
+    private static final int DISPOSE_PREVIOUS = 3;
+
     /**
      * Load a GIF (bytes) into a LibGDX Animation.
+     * All frames share one texture (sprite sheet); dispose it via any frame's getTexture().
      * @param playMode Animation play mode (e.g., LOOP)
      * @param data     GIF file bytes
      */
     public static Animation<TextureRegion> loadGIFAnimation(PlayMode playMode, byte[] data) {
-        Array<TextureRegion> frames = new Array<TextureRegion>();
-        float frameDuration = 0.1f; // default 10 fps fallback
+        Frames decoded = decodeFrames(data);
+        if (decoded.pixmaps.size == 0) return null;
 
-        ByteArrayInputStream bais = null;
-        ImageInputStream stream = null;
-        ImageReader reader = null;
+        int cols = decoded.sheetColumns();
+        Pixmap sheet = decoded.toSheet();
+        Texture texture = new Texture(sheet);
+        sheet.dispose();
+
+        Array<TextureRegion> frames = new Array<TextureRegion>(decoded.pixmaps.size);
+        for (int i = 0; i < decoded.pixmaps.size; i++) {
+            frames.add(new TextureRegion(texture,
+                (i % cols) * decoded.width, (i / cols) * decoded.height, decoded.width, decoded.height));
+        }
+        decoded.dispose();
+
+        Animation<TextureRegion> anim = new Animation<TextureRegion>(decoded.frameDuration, frames);
+        anim.setPlayMode(playMode);
+        return anim;
+    }
 
+    /**
+     * Decoded GIF frames as CPU-side Pixmaps (no GL context needed).
+     * Every frame is the full composited logical screen (width x height).
+     * The caller owns the pixmaps and must {@link #dispose()} them.
+     */
+    public static class Frames {
+        public final Array<Pixmap> pixmaps = new Array<Pixmap>();
+        public float frameDuration = 0.1f; // default 10 fps fallback
+        public int width, height;
+
+        /** Near-square grid so long animations stay under texture size limits */
+        public int sheetColumns() {
+            return Math.max(1, (int) Math.ceil(Math.sqrt(pixmaps.size)));
+        }
+
+        /** All frames in one Pixmap, row-major in a sheetColumns() grid. Caller disposes it. */
+        public Pixmap toSheet() {
+            int cols = sheetColumns();
+            int rows = (pixmaps.size + cols - 1) / cols;
+            Pixmap sheet = new Pixmap(cols * width, Math.max(1, rows) * height, Pixmap.Format.RGBA8888);
+            sheet.setBlending(Pixmap.Blending.None);
+            for (int i = 0; i < pixmaps.size; i++) {
+                sheet.drawPixmap(pixmaps.get(i), (i % cols) * width, (i / cols) * height);
+            }
+            return sheet;
+        }
+
+        public void dispose() {
+            for (Pixmap p : pixmaps) p.dispose();
+            pixmaps.clear();
+        }
+    }
+
+    /**
+     * Decode GIF bytes into Pixmaps without creating any Texture.
+     */
+    public static Frames decodeFrames(byte[] data) {
+        Frames result = new Frames();
         try {
-            bais = new ByteArrayInputStream(data);
-            stream = ImageIO.createImageInputStream(bais);
+            Layout layout = scan(data);
+            result.width = layout.screenWidth;
+            result.height = layout.screenHeight;
+            if (layout.frames.isEmpty()) return result;
 
-            Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
-            if (!readers.hasNext()) throw new IOException("No GIF ImageReader available");
-            reader = readers.next();
-            reader.setInput(stream, false);
+            int[][] raw = decodeRaw(data, layout);
 
-            int frameCount = reader.getNumImages(true);
-            for (int i = 0; i < frameCount; i++) {
-                BufferedImage img = reader.read(i);
+            // Composite in order: frames may be partial and depend on the previous canvas
+            int[] canvas = new int[layout.screenWidth * layout.screenHeight];
+            int[] saved = null;
+            for (int i = 0; i < layout.frames.size(); i++) {
+                FrameInfo f = layout.frames.get(i);
+                if (f.delayCentis > 0) result.frameDuration = f.delayCentis / 100f;
 
-                // Per-frame delay in 1/100 sec → seconds
-                int delayCentis = getDelayTime(reader, i);
-                if (delayCentis > 0) {
-                    frameDuration = delayCentis / 100f;
+                if (f.disposal == DISPOSE_PREVIOUS) {
+                    if (saved == null) saved = new int[canvas.length];
+                    System.arraycopy(canvas, 0, saved, 0, canvas.length);
                 }
+                blit(raw[i], f, canvas, layout.screenWidth, layout.screenHeight);
+                result.pixmaps.add(argbToPixmap(canvas, layout.screenWidth, layout.screenHeight));
 
-                // Convert BufferedImage to Pixmap → TextureRegion
-                Pixmap pixmap = bufferedImageToPixmap(img);
-                Texture texture = new Texture(pixmap);
-                frames.add(new TextureRegion(texture));
-                pixmap.dispose();
+                if (f.disposal == DISPOSE_BACKGROUND) {
+                    clearRect(canvas, f, layout.screenWidth, layout.screenHeight);
+                } else if (f.disposal == DISPOSE_PREVIOUS) {
+                    System.arraycopy(saved, 0, canvas, 0, canvas.length);
+                }
             }
         } catch (IOException e) {
             e.printStackTrace();
-        } finally {
-            if (reader != null) reader.dispose();
-            try {
-                if (stream != null) stream.close();
-            } catch (IOException ignored) {}
-            try {
-                if (bais != null) bais.close();
-            } catch (IOException ignored) {}
         }
+        return result;
+    }
 
-        Animation<TextureRegion> anim = new Animation<TextureRegion>(frameDuration, frames);
-        anim.setPlayMode(playMode);
-        return anim;
+    // ---------------------------------------------------------------
+    // Raw block scan (header, GCE, image descriptors)
+    // ---------------------------------------------------------------
+    private static class FrameInfo {
+        int left, top, width, height;
+        int disposal;
+        int delayCentis;
     }
 
-    /**
-     * Read GIF GraphicControlExtension.delayTime (centiseconds).
-     */
-    private static int getDelayTime(ImageReader reader, int frameIndex) {
+    private static class Layout {
+        int screenWidth, screenHeight;
+        final List<FrameInfo> frames = new ArrayList<FrameInfo>();
+    }
+
+    private static Layout scan(byte[] d) throws IOException {
         try {
-            IIOMetadata meta = reader.getImageMetadata(frameIndex);
-            String format = "javax_imageio_gif_image_1.0";
-            Node tree = meta.getAsTree(format);
-            NodeList children = tree.getChildNodes();
-            for (int i = 0; i < children.getLength(); i++) {
-                Node node = children.item(i);
-                if ("GraphicControlExtension".equals(node.getNodeName())) {
-                    NamedNodeMap attrs = node.getAttributes();
-                    Node delayAttr = attrs.getNamedItem("delayTime");
-                    if (delayAttr != null) {
-                        return Integer.parseInt(delayAttr.getNodeValue()); // centiseconds
+            if (d.length < 13 || d[0] != 'G' || d[1] != 'I' || d[2] != 'F') throw new IOException("Not a GIF");
+            Layout layout = new Layout();
+            layout.screenWidth = u16(d, 6);
+            layout.screenHeight = u16(d, 8);
+            int packed = d[10] & 0xFF;
+            int pos = 13;
+            if ((packed & 0x80) != 0) pos += 3 * (1 << ((packed & 7) + 1)); // global color table
+
+            int disposal = 0, delay = 0;
+            while (pos < d.length) {
+                int block = d[pos++] & 0xFF;
+                if (block == 0x21) {            // extension
+                    int label = d[pos++] & 0xFF;
+                    if (label == 0xF9) {        // graphic control extension
+                        int gce = d[pos + 1] & 0xFF;
+                        disposal = (gce >> 2) & 7;
+                        delay = u16(d, pos + 2);
                     }
+                    pos = skipSubBlocks(d, pos);
+                } else if (block == 0x2C) {     // image descriptor
+                    FrameInfo f = new FrameInfo();
+                    f.left = u16(d, pos);
+                    f.top = u16(d, pos + 2);
+                    f.width = u16(d, pos + 4);
+                    f.height = u16(d, pos + 6);
+                    int ipacked = d[pos + 8] & 0xFF;
+                    pos += 9;
+                    if ((ipacked & 0x80) != 0) pos += 3 * (1 << ((ipacked & 7) + 1)); // local color table
+                    pos++;                      // LZW minimum code size
+                    pos = skipSubBlocks(d, pos);
+                    f.disposal = disposal;
+                    f.delayCentis = delay;
+                    layout.frames.add(f);
+                    disposal = 0;
+                    delay = 0;
+                } else {                        // 0x3B trailer (or garbage): stop
+                    break;
+                }
+            }
+            // Some encoders write a 0x0 logical screen; fall back to the frame extents
+            if (layout.screenWidth == 0 || layout.screenHeight == 0) {
+                for (FrameInfo f : layout.frames) {
+                    layout.screenWidth = Math.max(layout.screenWidth, f.left + f.width);
+                    layout.screenHeight = Math.max(layout.screenHeight, f.top + f.height);
                 }
             }
-        } catch (Exception ignored) {}
-        return 10; // fallback 100ms
+            return layout;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Truncated GIF", e);
+        }
     }
 
-    /**
-     * Convert AWT BufferedImage → LibGDX Pixmap (RGBA8888).
-     * Note: flips Y so it matches LibGDX coordinate system used by typical sprite drawing.
-     */
-    private static Pixmap bufferedImageToPixmap(BufferedImage img) {
-        int width = img.getWidth();
-        int height = img.getHeight();
-        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+    private static int skipSubBlocks(byte[] d, int pos) {
+        while (true) {
+            int n = d[pos++] & 0xFF;
+            if (n == 0) return pos;
+            pos += n;
+        }
+    }
 
-        int[] pixels = new int[width * height];
-        img.getRGB(0, 0, width, height, pixels, 0, width);
+    private static int u16(byte[] d, int off) {
+        return (d[off] & 0xFF) | ((d[off + 1] & 0xFF) << 8);
+    }
 
-        int idx = 0;
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int argb = pixels[idx++];
+    // ---------------------------------------------------------------
+    // Parallel LZW decode (ImageIO), one reader per task
+    // ---------------------------------------------------------------
+    private static int[][] decodeRaw(final byte[] data, Layout layout) throws IOException {
+        final int count = layout.frames.size();
+        final int[][] raw = new int[count][];
 
-                // 올바른 ARGB → RGBA 변환
-                int a = (argb >> 24) & 0xFF;
-                int r = (argb >> 16) & 0xFF;
-                int g = (argb >> 8) & 0xFF;
-                int b = (argb) & 0xFF;
+        long pixels = 0;
+        for (FrameInfo f : layout.frames) pixels += (long) f.width * f.height;
+        int tasks = Math.min(count, ForkJoinPool.getCommonPoolParallelism());
+        if (tasks <= 1 || pixels < PARALLEL_PIXEL_THRESHOLD) {
+            decodeRange(data, raw, 0, count);
+            return raw;
+        }
+
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(tasks);
+        for (int t = 0; t < tasks; t++) {
+            final int from = count * t / tasks;
+            final int to = count * (t + 1) / tasks;
+            futures.add(ForkJoinPool.commonPool().submit(new Callable<Void>() {
+                @Override public Void call() throws IOException {
+                    decodeRange(data, raw, from, to);
+                    return null;
+                }
+            }));
+        }
+        try {
+            for (Future<Void> f : futures) f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding GIF", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to decode GIF frame", e.getCause());
+        }
+        return raw;
+    }
 
-                // Y축 반전 없이 그대로 LibGDX 기준으로 (Y 아래가 0)
-                int rgba = (r << 24) | (g << 16) | (b << 8) | a;
-                pixmap.drawPixel(x, y, rgba);
+    private static void decodeRange(byte[] data, int[][] out, int from, int to) throws IOException {
+        ImageInputStream stream = null;
+        ImageReader reader = null;
+        try {
+            stream = ImageIO.createImageInputStream(new ByteArrayInputStream(data));
+            Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("gif");
+            if (!readers.hasNext()) throw new IOException("No GIF ImageReader available");
+            reader = readers.next();
+            reader.setInput(stream, false, true); // ignore metadata: we scanned it ourselves
+            for (int i = from; i < to; i++) {
+                out[i] = toArgb(reader.read(i));
             }
+        } finally {
+            if (reader != null) reader.dispose();
+            if (stream != null) {
+                try { stream.close(); } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    /** Frame pixels as ARGB. Indexed images go through the palette directly instead of getRGB's per-pixel color model. */
+    private static int[] toArgb(BufferedImage img) {
+        int w = img.getWidth(), h = img.getHeight();
+        if (img.getColorModel() instanceof IndexColorModel && img.getRaster().getNumBands() == 1) {
+            IndexColorModel icm = (IndexColorModel) img.getColorModel();
+            int[] palette = new int[icm.getMapSize()];
+            icm.getRGBs(palette); // includes alpha 0 for the transparent index
+            Raster raster = img.getRaster();
+            int[] pixels = raster.getSamples(0, 0, w, h, 0, (int[]) null);
+            for (int i = 0; i < pixels.length; i++) {
+                int index = pixels[i];
+                pixels[i] = index < palette.length ? palette[index] : 0;
+            }
+            return pixels;
         }
+        return img.getRGB(0, 0, w, h, null, 0, w);
+    }
 
+    // ---------------------------------------------------------------
+    // Compositing
+    // ---------------------------------------------------------------
+    private static void blit(int[] src, FrameInfo f, int[] canvas, int cw, int ch) {
+        int x0 = Math.max(0, f.left), x1 = Math.min(cw, f.left + f.width);
+        int y0 = Math.max(0, f.top),  y1 = Math.min(ch, f.top + f.height);
+        for (int y = y0; y < y1; y++) {
+            int s = (y - f.top) * f.width + (x0 - f.left);
+            int c = y * cw + x0;
+            for (int x = x0; x < x1; x++, s++, c++) {
+                int argb = src[s];
+                if ((argb >>> 24) != 0) canvas[c] = argb; // transparent index keeps the previous frame
+            }
+        }
+    }
+
+    private static void clearRect(int[] canvas, FrameInfo f, int cw, int ch) {
+        int x0 = Math.max(0, f.left), x1 = Math.min(cw, f.left + f.width);
+        int y0 = Math.max(0, f.top),  y1 = Math.min(ch, f.top + f.height);
+        for (int y = y0; y < y1; y++) {
+            java.util.Arrays.fill(canvas, y * cw + x0, y * cw + x1, 0);
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // ARGB -> RGBA8888 Pixmap (bulk)
+    // ---------------------------------------------------------------
+    /**
+     * Row 0 of the GIF goes to row 0 of the Pixmap (top), same as the old per-pixel path.
+     * RGBA8888 stores bytes R,G,B,A, i.e. a big-endian int 0xRRGGBBAA.
+     */
+    static Pixmap argbToPixmap(int[] argb, int width, int height) {
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        int n = width * height;
+        int[] rgba = new int[n];
+        for (int i = 0; i < n; i++) {
+            int p = argb[i];
+            rgba[i] = (p << 8) | (p >>> 24);
+        }
+        ByteBuffer bytes = pixmap.getPixels().duplicate(); // duplicate() is big-endian, position 0
+        bytes.clear();
+        IntBuffer ints = bytes.asIntBuffer();
+        ints.put(rgba, 0, n);
         return pixmap;
     }
 }
@@ -0,0 +1,155 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 틱 단위 입력 기록(.mrec) — 헤더 + 런 길이 인코딩된 입력 비트.
+ *
+ * <pre>
+ * 헤더: "MREC"(4) | version(u8) | level(varint) | tickRate(float32) | seed(int64)
+ * 본문: [bits(u8) runLength(varint)]* 파일 끝까지
+ * </pre>
+ * 입력이 바뀔 때마다 2~4바이트만 쓰므로 플레이 1초당 수 바이트 수준.
+ */
+public class InputRecording {
+
+    public static final String EXTENSION = "mrec";
+    private static final byte[] MAGIC = { 'M', 'R', 'E', 'C' };
+    private static final int VERSION = 1;
+
+    public final int level;
+    public final float tickRate;
+    public final long seed;
+    public final InputScript script;
+
+    public InputRecording(int level, float tickRate, long seed, InputScript script) {
+        this.level = level;
+        this.tickRate = tickRate;
+        this.seed = seed;
+        this.script = script;
+    }
+
+    /** 기록 길이(초) */
+    public float getDurationSeconds() {
+        return script.getTotalTicks() / tickRate;
+    }
+
+    // ---------------------------
+    // 기록기: 매 틱 world.update 직전에 record(input)
+    // ---------------------------
+    public static class Recorder {
+        private final int level;
+        private final float tickRate;
+        private final long seed;
+        private final InputScript script = new InputScript();
+
+        public Recorder(int level, float tickRate, long seed) {
+            this.level = level;
+            this.tickRate = tickRate;
+            this.seed = seed;
+        }
+
+        public void record(InputState input) {
+            script.append(1, input.toBits());
+        }
+
+        public long getTickCount() { return script.getTotalTicks(); }
+
+        public InputRecording finish() {
+            return new InputRecording(level, tickRate, seed, script);
+        }
+    }
+
+    // ---------------------------
+    // 직렬화
+    // ---------------------------
+    public void save(FileHandle file) {
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(file.write(false));
+            write(out);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to write " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeVarInt(out, level);
+        out.writeFloat(tickRate);
+        out.writeLong(seed);
+        for (int i = 0; i < script.getRunCount(); i++) {
+            out.writeByte(script.getRunBits(i));
+            writeVarInt(out, script.getRunLength(i));
+        }
+        out.flush();
+    }
+
+    public static InputRecording load(FileHandle file) {
+        InputStream in = null;
+        try {
+            in = new BufferedInputStream(file.read());
+            return read(in);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to read " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    public static InputRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        for (byte m : MAGIC) {
+            if (in.readByte() != m) throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported recording version " + version);
+
+        int level = readVarInt(in);
+        float tickRate = in.readFloat();
+        long seed = in.readLong();
+
+        InputScript script = new InputScript();
+        while (true) {
+            int bits = in.read();
+            if (bits < 0) break; // EOF
+            script.append(readVarInt(in), bits);
+        }
+        return new InputRecording(level, tickRate, seed, script);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0, shift = 0;
+        while (true) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Truncated recording");
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+            shift += 7;
+            if (shift > 28) throw new IOException("Malformed varint");
+        }
+    }
+}
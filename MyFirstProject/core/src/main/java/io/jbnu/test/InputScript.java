@@ -0,0 +1,108 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * 틱 단위 입력 시퀀스(런 길이 형태: "n틱 동안 이 입력 비트").
+ * 비트 구성은 InputState.BIT_* 와 같다.
+ *
+ * 텍스트 형식(배치 실행용, 한 줄에 한 구간):
+ * <pre>
+ *   # 주석
+ *   120 R      ← 120틱 동안 오른쪽
+ *   30  RJ     ← 오른쪽 + 점프(J는 구간 첫 틱에만 — 키를 '누른 순간')
+ *   60  -      ← 입력 없음
+ * </pre>
+ * 키: L R U D J
+ */
+public class InputScript {
+
+    private final IntArray runLengths = new IntArray();
+    private final IntArray runBits = new IntArray();
+    private long totalTicks = 0;
+
+    /** 구간 추가(같은 비트가 이어지면 합침) */
+    public void append(int ticks, int bits) {
+        if (ticks <= 0) return;
+        if (runBits.size > 0 && runBits.peek() == bits) {
+            runLengths.incr(runLengths.size - 1, ticks);
+        } else {
+            runLengths.add(ticks);
+            runBits.add(bits);
+        }
+        totalTicks += ticks;
+    }
+
+    public long getTotalTicks() { return totalTicks; }
+    public int getRunCount()    { return runLengths.size; }
+    public int getRunLength(int i) { return runLengths.get(i); }
+    public int getRunBits(int i)   { return runBits.get(i); }
+
+    /** 처음부터 한 틱씩 꺼내 쓰는 커서 */
+    public Cursor cursor() { return new Cursor(); }
+
+    public class Cursor {
+        private int run = 0;
+        private int left = runLengths.size > 0 ? runLengths.get(0) : 0;
+
+        public boolean hasNext() {
+            return run < runLengths.size;
+        }
+
+        /** 다음 틱 입력을 state에 채운다 */
+        public void next(InputState state) {
+            state.setBits(runBits.get(run));
+            if (--left == 0 && ++run < runLengths.size) left = runLengths.get(run);
+        }
+    }
+
+    // ---------------------------
+    // 텍스트 형식
+    // ---------------------------
+    public static InputScript parse(FileHandle file) {
+        return parse(file.readString("UTF-8"), file.path());
+    }
+
+    public static InputScript parse(String text, String name) {
+        InputScript script = new InputScript();
+        String[] lines = text.split("\r?\n");
+        for (int ln = 0; ln < lines.length; ln++) {
+            String line = lines[ln].trim();
+            int hash = line.indexOf('#');
+            if (hash >= 0) line = line.substring(0, hash).trim();
+            if (line.isEmpty()) continue;
+
+            String[] parts = line.split("\\s+");
+            int ticks;
+            try {
+                ticks = Integer.parseInt(parts[0]);
+            } catch (NumberFormatException e) {
+                throw new GdxRuntimeException(name + ":" + (ln + 1) + ": bad tick count '" + parts[0] + "'");
+            }
+            int bits = 0;
+            String keys = parts.length > 1 ? parts[1].toUpperCase() : "-";
+            for (int i = 0; i < keys.length(); i++) {
+                switch (keys.charAt(i)) {
+                    case 'L': bits |= InputState.BIT_LEFT; break;
+                    case 'R': bits |= InputState.BIT_RIGHT; break;
+                    case 'U': bits |= InputState.BIT_UP; break;
+                    case 'D': bits |= InputState.BIT_DOWN; break;
+                    case 'J': bits |= InputState.BIT_JUMP; break;
+                    case '-': break;
+                    default:
+                        throw new GdxRuntimeException(name + ":" + (ln + 1) + ": unknown key '" + keys.charAt(i) + "'");
+                }
+            }
+            // 점프는 엣지 입력: 구간 첫 틱에만
+            if ((bits & InputState.BIT_JUMP) != 0) {
+                script.append(1, bits);
+                script.append(ticks - 1, bits & ~InputState.BIT_JUMP);
+            } else {
+                script.append(ticks, bits);
+            }
+        }
+        return script;
+    }
+}
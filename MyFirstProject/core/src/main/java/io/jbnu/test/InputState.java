@@ -8,7 +8,28 @@ public class InputState {
     public boolean jump;
     public boolean pause;
 
+    // === 틱 단위 기록/재생용 비트 (pause는 시뮬레이션 입력이 아니므로 제외) ===
+    public static final int BIT_LEFT  = 1;
+    public static final int BIT_RIGHT = 1 << 1;
+    public static final int BIT_UP    = 1 << 2;
+    public static final int BIT_DOWN  = 1 << 3;
+    public static final int BIT_JUMP  = 1 << 4;
+
     public void clear() {
         left = right = up = down = jump = pause = false;
     }
+
+    public int toBits() {
+        return (left ? BIT_LEFT : 0) | (right ? BIT_RIGHT : 0) | (up ? BIT_UP : 0)
+            | (down ? BIT_DOWN : 0) | (jump ? BIT_JUMP : 0);
+    }
+
+    public void setBits(int bits) {
+        left  = (bits & BIT_LEFT)  != 0;
+        right = (bits & BIT_RIGHT) != 0;
+        up    = (bits & BIT_UP)    != 0;
+        down  = (bits & BIT_DOWN)  != 0;
+        jump  = (bits & BIT_JUMP)  != 0;
+        pause = false;
+    }
 }
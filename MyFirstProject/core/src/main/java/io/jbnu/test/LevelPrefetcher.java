@@ -0,0 +1,106 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * 다음 레벨을 미리 준비하는 예측 프리페처 (렌더 스레드에서 매 프레임 update).
+ * 레벨은 항상 level+1로만 넘어가므로 다음 레벨은 정해져 있다. 아래 중 하나가 되면 prepare(level+1):
+ *  - 플레이어가 깃발/파이프에서 nearDistance 안으로 들어옴
+ *  - 현재 레벨에서 afterSeconds가 지남
+ *
+ * 메모리 예산을 넘기면 미리 올리지 않는다(전환 LOADING에서 평소처럼 로드).
+ * 준비해 둔 레벨이 keepWarmSeconds 동안 쓰이지 않고 플레이어가 출구에서 멀어지면 내려서 메모리를 돌려준다.
+ */
+public class LevelPrefetcher {
+
+    public static final float DEFAULT_NEAR_DISTANCE = 400f;       // px
+    public static final float DEFAULT_AFTER_SECONDS = 20f;
+    public static final float DEFAULT_KEEP_WARM_SECONDS = 30f;
+    public static final long DEFAULT_BUDGET_BYTES = 96L * 1024 * 1024;
+
+    private final AssetLevelLoader loader;
+    private float nearDistance = DEFAULT_NEAR_DISTANCE;
+    private float afterSeconds = DEFAULT_AFTER_SECONDS;
+    private float keepWarmSeconds = DEFAULT_KEEP_WARM_SECONDS;
+    private long budgetBytes = DEFAULT_BUDGET_BYTES;
+
+    private int trackedLevel = -1;
+    private float timeOnLevel;
+    private boolean timeTriggerUsed;   // 시간 조건은 레벨당 한 번만
+    private int warmLevel = -1;        // 준비해 둔 레벨(-1 = 없음)
+    private float warmTime;
+    private long nextBytes = -1;       // 다음 레벨 준비 비용 추정(레벨당 한 번 계산)
+
+    public LevelPrefetcher(AssetLevelLoader loader) {
+        this.loader = loader;
+    }
+
+    public void update(float dt, GameWorld world) {
+        int level = world.getLevel();
+        if (level != trackedLevel) {
+            // 레벨이 바뀜 = 준비해 둔 레벨을 썼거나(정상) 건너뜀
+            if (warmLevel >= 0 && warmLevel != level) loader.release(warmLevel);
+            trackedLevel = level;
+            timeOnLevel = 0f;
+            timeTriggerUsed = false;
+            warmLevel = -1;
+            nextBytes = -1;
+        }
+        if (world.isTransitioning()) return; // 전환 중에는 GameWorld가 직접 prepare한다
+
+        timeOnLevel += dt;
+        int next = level + 1;
+        boolean near = isNearExit(world);
+
+        if (warmLevel < 0) {
+            boolean byTime = !timeTriggerUsed && timeOnLevel >= afterSeconds;
+            if (!near && !byTime) return;
+            if (byTime) timeTriggerUsed = true;
+            if (nextBytes < 0) nextBytes = loader.estimatePrepareBytes(next);
+            if (loader.getResidentBytes() + nextBytes > budgetBytes) return;
+            loader.prepare(next);
+            warmLevel = next;
+            warmTime = 0f;
+            return;
+        }
+
+        // 준비해 둔 레벨 유지/해제
+        warmTime = near ? 0f : warmTime + dt;
+        if (warmTime >= keepWarmSeconds) {
+            loader.release(warmLevel);
+            Gdx.app.debug("PREFETCH", "released unused level " + warmLevel);
+            warmLevel = -1;
+        }
+    }
+
+    /** 플레이어 AABB와 깃발/파이프 AABB 사이 거리가 nearDistance 이하인가 */
+    private boolean isNearExit(GameWorld world) {
+        Rectangle p = world.getPlayer().getBounds();
+        Flag flag = world.getFlag();
+        if (flag != null && distance(p, flag.getBound()) <= nearDistance) return true;
+        Array<Pipe> pipes = world.getPipes();
+        if (pipes != null) {
+            for (int i = 0; i < pipes.size; i++) {
+                if (distance(p, pipes.get(i).getBounds()) <= nearDistance) return true;
+            }
+        }
+        return false;
+    }
+
+    private static float distance(Rectangle a, Rectangle b) {
+        float dx = Math.max(0f, Math.max(b.x - (a.x + a.width), a.x - (b.x + b.width)));
+        float dy = Math.max(0f, Math.max(b.y - (a.y + a.height), a.y - (b.y + b.height)));
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    // ---------------------------
+    // 설정
+    // ---------------------------
+    public void setNearDistance(float px)        { nearDistance = px; }
+    public void setAfterSeconds(float seconds)    { afterSeconds = seconds; }
+    public void setKeepWarmSeconds(float seconds) { keepWarmSeconds = seconds; }
+    public void setBudgetBytes(long bytes)        { budgetBytes = bytes; }
+    public int getWarmLevel()                     { return warmLevel; }
+}
@@ -0,0 +1,355 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * Map(순수 레벨 데이터)을 그리는 표현 계층.
+ * 영역은 GameAtlas 한 장에서 가져오므로 타일/파이프/깃발 사이에 텍스처 교체가 없다.
+ * 텍스처 소유권은 GameAtlas에 있다.
+ *
+ * 정적 레이어(타일/파이프/깃발)는 스트리밍 청크 단위로 SpriteCache에 굽는다.
+ * 타일은 TileGrid 바이트(격자 밖 셀 포함)를 직접 훑어 칸마다 쿼드 하나를 넣는다(TileType id → 영역 표).
+ * 매 프레임은 시야에 걸치는 청크의 세로 블록(CHUNK_SIZE)만 cache.draw로 재생하므로 정점을 다시 만들지 않는다.
+ *
+ * 상주 청크마다 캐시 ID(슬롯) 하나를 준다. 슬롯은 레벨의 청크 하나에 들어갈 수 있는 최대 스프라이트 수로
+ * 한 번 잡아 두고, 청크가 해제되면 돌려받아 다음 청크를 같은 ID에 다시 굽는다(SpriteCache는 ID를 따로
+ * 지울 수 없지만 같은 크기 이하로 재정의는 된다). 청크 경계를 넘을 때는 새로 상주한 청크만 굽는다.
+ */
+public class LevelRenderer implements Disposable {
+
+    /** 정적 지오메트리 청크 한 변 = 스트리밍 청크 폭 */
+    public static final float CHUNK_SIZE = Map.CHUNK_SIZE;
+    /** 오브젝트는 최소 꼭짓점이 속한 청크에 들어가므로, 가장 큰 오브젝트(깃발) 높이만큼 시야를 넓혀 잡는다 */
+    private static final float VIEW_MARGIN = Flag.HEIGHT;
+    /** 인덱스 버퍼(short)를 쓸 수 있는 SpriteCache 최대 크기 */
+    private static final int MAX_INDEXED_SPRITES = 8191;
+
+    private final TextureRegion[] tileRegions;   // TileType id → 영역 (빈 칸/모르는 id는 null)
+    private final TextureRegion pipeUpRegion;
+    private final TextureRegion pipeDownRegion;
+    private final TextureRegion flagRegion;
+
+    // --- 청크 캐시 ---
+    private SpriteCache cache;
+    private int cacheCapacity;                  // 스프라이트 수
+    private int slotSize;                       // 슬롯 하나의 스프라이트 수 (맵마다)
+    private final IntArray freeSlots = new IntArray();
+    private final IntMap<Column> columns = new IntMap<>();   // 스트리밍 청크 → 구운 열
+    private final Array<Column> columnPool = new Array<>();
+    private Map bakedMap;
+    private int bakedVersion;
+    private float originY;                      // 세로 블록 0의 y
+    private int rows;                           // 세로 블록 수
+    private int totalSprites;
+
+    // --- 스크래치 ---
+    private final Array<Map.Chunk> residentChunks = new Array<>();
+    private final IntArray evicted = new IntArray();
+    private final IntIntMap objectsPerChunk = new IntIntMap();
+    private final Rectangle viewRect = new Rectangle();
+
+    /** 구운 청크 하나: 슬롯 ID와 세로 블록별 [start, start + count) 범위 */
+    private static final class Column {
+        int cacheId = -1;                       // -1 = 그릴 것이 없어 슬롯을 받지 않음
+        int sprites;
+        int[] starts = new int[0];
+        int[] counts = new int[0];
+    }
+
+    // --- 프레임 통계 ---
+    private int drawnCount;
+    private int culledCount;
+    private int drawnChunks;
+
+    public LevelRenderer(GameAtlas atlas) {
+        tileRegions = new TextureRegion[TileType.idLimit()];
+        for (int id = 1; id < tileRegions.length; id++) {
+            TileType type = TileType.get((byte) id);
+            String region = type == null ? null : regionOf(type);
+            if (region != null) tileRegions[id] = atlas.region(region);
+        }
+        pipeUpRegion = atlas.region(GameAtlas.PIPE_UP);
+        pipeDownRegion = atlas.region(GameAtlas.PIPE_DOWN);
+        flagRegion = atlas.region(GameAtlas.FLAG);
+    }
+
+    /** 타일 종류 → GameAtlas 영역 이름 (그릴 그림이 없는 종류는 null) */
+    static String regionOf(TileType type) {
+        if (type == TileType.GROUND) return GameAtlas.BLOCK;
+        return null;
+    }
+
+    /**
+     * 시야에 걸치는 청크만 그림 (batch.begin() 상태에서 호출).
+     * SpriteCache는 자체 셰이더를 쓰므로 batch를 잠시 끝냈다가 다시 시작한다.
+     */
+    public void draw(SpriteBatch batch, GameWorld world, OrthographicCamera camera) {
+        Map map = world.getMap();
+        LevelStreamer streamer = world.getStreamer();
+        if (map != bakedMap) reset(map);
+        if (streamer.getVersion() != bakedVersion) sync(map, streamer);
+
+        drawnCount = 0;
+        drawnChunks = 0;
+        culledCount = totalSprites;
+        if (totalSprites == 0) return;
+
+        float viewW = camera.viewportWidth * camera.zoom;
+        float viewH = camera.viewportHeight * camera.zoom;
+        viewRect.set(camera.position.x - viewW * 0.5f - VIEW_MARGIN,
+            camera.position.y - viewH * 0.5f - VIEW_MARGIN,
+            viewW + VIEW_MARGIN * 2f,
+            viewH + VIEW_MARGIN * 2f);
+
+        int minC = Map.chunkIndex(viewRect.x);
+        int maxC = Map.chunkIndex(viewRect.x + viewRect.width);
+        int minCy = Math.max(0, chunkY(viewRect.y));
+        int maxCy = Math.min(rows - 1, chunkY(viewRect.y + viewRect.height));
+        if (minCy > maxCy) return;
+
+        batch.end();
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        for (int c = minC; c <= maxC; c++) {
+            Column column = columns.get(c);
+            if (column == null || column.cacheId < 0) continue;
+            for (int cy = minCy; cy <= maxCy; cy++) {
+                int n = column.counts[cy];
+                if (n == 0) continue;
+                cache.draw(column.cacheId, column.starts[cy], n);
+                drawnChunks++;
+                drawnCount += n;
+            }
+        }
+        cache.end();
+        batch.begin();
+
+        culledCount = totalSprites - drawnCount;
+    }
+
+    /** 맵 데이터가 제자리에서 바뀌었을 때(핫 리로드) 다음 draw에서 다시 굽도록 표시 */
+    public void invalidate() {
+        bakedMap = null;
+    }
+
+    // ---------------------------
+    // 굽기 (레벨 로드/상주 청크 변경 때만)
+    // ---------------------------
+    /** 새 맵: 모든 슬롯을 버리고 슬롯 크기/세로 범위를 다시 잡는다 */
+    private void reset(Map map) {
+        bakedMap = map;
+        bakedVersion = -1;
+        releaseAll();
+        if (cache != null) cache.clear();
+        freeSlots.clear();
+        slotSize = 0;
+        rows = 0;
+        if (map == null) return;
+
+        TileGrid grid = map.getGrid();
+        Array<Pipe> pipes = map.getPipes();
+        Flag flag = map.getFlag();
+
+        // 세로 범위: 격자(격자 밖 셀 포함) + 오브젝트 (오브젝트는 최소 꼭짓점이 속한 블록)
+        float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        if (grid.cols > 0) {
+            minY = grid.originY;
+            maxY = grid.cellY(grid.rows - 1);
+        }
+        // 청크 하나에 들어가는 최대 스프라이트: 격자 칸 전부 + 그 청크의 격자 밖 셀과 오브젝트
+        objectsPerChunk.clear();
+        int maxExtra = 0;
+        for (int i = 0; i < grid.looseCount(); i++) {
+            maxExtra = Math.max(maxExtra, objectsPerChunk.getAndIncrement(Map.chunkIndex(grid.looseX(i)), 0, 1) + 1);
+        }
+        for (int i = 0; pipes != null && i < pipes.size; i++) {
+            Pipe p = pipes.get(i);
+            minY = Math.min(minY, p.getY());
+            maxY = Math.max(maxY, p.getY());
+            maxExtra = Math.max(maxExtra, objectsPerChunk.getAndIncrement(Map.chunkIndex(p.getX()), 0, 1) + 1);
+        }
+        if (flag != null) {
+            minY = Math.min(minY, flag.getY());
+            maxY = Math.max(maxY, flag.getY());
+            maxExtra = Math.max(maxExtra, objectsPerChunk.getAndIncrement(Map.chunkIndex(flag.getX()), 0, 1) + 1);
+        }
+        if (minY > maxY) return; // 그릴 것이 없음
+
+        originY = MathUtils.floor(minY / CHUNK_SIZE) * CHUNK_SIZE;
+        rows = chunkY(maxY) + 1;
+        slotSize = TileGrid.CHUNK_COLS * grid.rows + maxExtra;
+    }
+
+    /** 해제된 청크의 슬롯을 돌려받고, 새로 상주한 청크만 굽는다 */
+    private void sync(Map map, LevelStreamer streamer) {
+        bakedVersion = streamer.getVersion();
+        if (map == null || rows == 0) return;
+
+        evicted.clear();
+        for (IntMap.Entry<Column> e : columns.entries()) {
+            if (!streamer.isResident(e.key)) evicted.add(e.key);
+        }
+        for (int i = 0; i < evicted.size; i++) release(columns.remove(evicted.get(i)));
+
+        // 상주 청크가 전부 슬롯을 받아도 모자라지 않게: 부족하면 두 배로 다시 만들고 전부 다시 굽는다
+        int needed = streamer.getResidentCount() * slotSize;
+        if (cache == null || needed > cacheCapacity) {
+            releaseAll();
+            if (cache != null) cache.dispose();
+            cacheCapacity = Math.max(needed, Math.max(cacheCapacity * 2, 1024));
+            cache = new SpriteCache(cacheCapacity, cacheCapacity <= MAX_INDEXED_SPRITES);
+            freeSlots.clear();
+        }
+
+        residentChunks.clear();
+        streamer.getResident(residentChunks);
+        for (int i = 0; i < residentChunks.size; i++) {
+            Map.Chunk chunk = residentChunks.get(i);
+            if (!columns.containsKey(chunk.index)) bakeColumn(map, chunk);
+        }
+        residentChunks.clear();
+    }
+
+    /** 청크 하나를 세로 블록 순서로 슬롯에 굽는다 */
+    private void bakeColumn(Map map, Map.Chunk chunk) {
+        Column column = columnPool.size > 0 ? columnPool.pop() : new Column();
+        if (column.counts.length < rows) {
+            column.starts = new int[rows];
+            column.counts = new int[rows];
+        }
+        columns.put(chunk.index, column);
+
+        TileGrid grid = map.getGrid();
+        Array<Pipe> pipes = map.getPipes();
+        Flag flag = map.getFlag();
+        if (flag != null && Map.chunkIndex(flag.getX()) != chunk.index) flag = null;
+
+        int total = 0;
+        for (int cy = 0; cy < rows; cy++) {
+            int n = tiles(grid, chunk, cy, false);
+            for (int i = 0; pipes != null && i < pipes.size; i++) {
+                Pipe p = pipes.get(i);
+                if (Map.chunkIndex(p.getX()) == chunk.index && chunkY(p.getY()) == cy) n++;
+            }
+            if (flag != null && chunkY(flag.getY()) == cy) n++;
+            column.starts[cy] = total;
+            column.counts[cy] = n;
+            total += n;
+        }
+        column.sprites = total;
+        if (total == 0) {
+            column.cacheId = -1;
+            return;
+        }
+
+        column.cacheId = acquireSlot();
+        cache.beginCache(column.cacheId);
+        for (int cy = 0; cy < rows; cy++) {
+            if (column.counts[cy] == 0) continue;
+            tiles(grid, chunk, cy, true);
+            for (int i = 0; pipes != null && i < pipes.size; i++) {
+                Pipe p = pipes.get(i);
+                if (Map.chunkIndex(p.getX()) != chunk.index || chunkY(p.getY()) != cy) continue;
+                TextureRegion tex = (p.getOrientation() == Pipe.Orientation.UP) ? pipeUpRegion : pipeDownRegion;
+                cache.add(tex, p.getX(), p.getY(), Pipe.WIDTH, Pipe.HEIGHT);
+            }
+            if (flag != null && chunkY(flag.getY()) == cy) {
+                cache.add(flagRegion, flag.getX(), flag.getY(), Flag.WIDTH, Flag.HEIGHT);
+            }
+        }
+        // 마지막으로 만든 ID는 재정의하면 새로 잡히면서 크기가 줄어든다 → 항상 슬롯 크기까지 채운다
+        pad(slotSize - total);
+        cache.endCache();
+        totalSprites += total;
+    }
+
+    /**
+     * 청크의 세로 블록 cy에 들어가는 타일을 격자에서 바로 센다(emit이면 캐시에 쿼드로 넣는다).
+     * 타일은 좌하단이 속한 블록에 들어가고, 격자 밖 셀은 좌하단 x가 속한 청크에 들어간다.
+     */
+    private int tiles(TileGrid grid, Map.Chunk chunk, int cy, boolean emit) {
+        float y0 = originY + cy * CHUNK_SIZE;
+        int n = 0;
+        if (!chunk.isEmpty()) {
+            int rowStart = grid.rowAtOrAfter(y0), rowEnd = grid.rowAtOrAfter(y0 + CHUNK_SIZE);
+            for (int row = rowStart; row < rowEnd; row++) {
+                for (int col = chunk.colStart; col < chunk.colEnd; col++) {
+                    TextureRegion region = regionFor(grid.get(col, row));
+                    if (region == null) continue;
+                    if (emit) cache.add(region, grid.cellX(col), grid.cellY(row), TileGrid.CELL_SIZE, TileGrid.CELL_SIZE);
+                    n++;
+                }
+            }
+        }
+        for (int i = 0; i < grid.looseCount(); i++) {
+            if (Map.chunkIndex(grid.looseX(i)) != chunk.index || chunkY(grid.looseY(i)) != cy) continue;
+            TextureRegion region = regionFor(grid.looseCell(i));
+            if (region == null) continue;
+            if (emit) cache.add(region, grid.looseX(i), grid.looseY(i), TileGrid.CELL_SIZE, TileGrid.CELL_SIZE);
+            n++;
+        }
+        return n;
+    }
+
+    private TextureRegion regionFor(byte id) {
+        return (id & 0xFF) < tileRegions.length ? tileRegions[id & 0xFF] : null;
+    }
+
+    /** 빈 슬롯 ID. 없으면 slotSize만큼 빈 쿼드로 자리를 잡은 새 캐시를 만든다 (용량은 sync가 보장) */
+    private int acquireSlot() {
+        if (freeSlots.size > 0) return freeSlots.pop();
+        cache.beginCache();
+        pad(slotSize);
+        return cache.endCache();
+    }
+
+    /** 그려지지 않는 빈 쿼드 (draw는 세로 블록 범위만 재생하므로 슬롯 끝의 채움은 보이지 않는다) */
+    private void pad(int count) {
+        for (int i = 0; i < count; i++) cache.add(flagRegion, 0f, 0f, 0f, 0f);
+    }
+
+    private void release(Column column) {
+        if (column == null) return;
+        if (column.cacheId >= 0) freeSlots.add(column.cacheId);
+        totalSprites -= column.sprites;
+        column.cacheId = -1;
+        column.sprites = 0;
+        columnPool.add(column);
+    }
+
+    private void releaseAll() {
+        for (Column column : columns.values()) release(column);
+        columns.clear();
+    }
+
+    private int chunkY(float y) { return MathUtils.floor((y - originY) / CHUNK_SIZE); }
+
+    // ---------------------------
+    // 통계 (마지막 draw 기준)
+    // ---------------------------
+    public int getDrawnCount() { return drawnCount; }
+    public int getCulledCount() { return culledCount; }
+    public int getDrawnChunks() { return drawnChunks; }
+
+    @Override
+    public void dispose() {
+        if (cache != null) cache.dispose();
+        cache = null;
+        cacheCapacity = 0;
+        invalidate();
+    }
+}
@@ -0,0 +1,11 @@
+package io.jbnu.test;
+
+/**
+ * 레벨 번호 → Map 공급자. GameWorld는 파일 시스템/Gdx 정적 객체를 직접 만지지 않고
+ * 이 인터페이스로만 레벨을 얻는다(헤드리스/병렬 실행 가능).
+ */
+public interface LevelSource {
+
+    /** 해당 레벨이 없으면 null (= 마지막 레벨 이후, 게임 클리어) */
+    Map load(int level);
+}
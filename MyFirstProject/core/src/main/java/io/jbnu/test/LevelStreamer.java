@@ -0,0 +1,264 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * 플레이어 주변 청크만 메모리에 올려 두는 지면 스트리머 (월드당 하나).
+ *
+ * 초점(플레이어 x)이 있는 청크 기준으로
+ * - activeRadius 안: 충돌 사각형을 solids 브로드페이즈에 올린다(시뮬레이션이 보는 범위)
+ * - residentRadius 안: 워커 스레드에서 미리 만들어 둔다(렌더러가 그리는 범위)
+ * - evictRadius 밖: 버린다
+ *
+ * 충돌 사각형은 활성 범위 청크들의 가로 구간을 한 번에 병합해서 만든다(범위가 바뀔 때만, 수백 구간 수준).
+ * 청크마다 따로 병합하면 경계에서 사각형이 끊겨 최소침투 해법이 이음매에 걸리므로,
+ * 끊긴 면은 활성 범위 바깥 끝(플레이어에서 한 청크 이상 떨어진 곳)에만 생기게 한다.
+ *
+ * 활성 범위는 초점 위치만으로 정해지고, 워커가 늦으면 그 자리에서 기다리거나 직접 만든다.
+ * 그래서 워커 유무/속도와 관계없이 시뮬레이션 결과가 같다(헤드리스 재생과 일치).
+ * 워커가 없으면(헤드리스) 활성 범위만 동기로 만든다.
+ *
+ * update/reset은 시뮬레이션 스레드, getResident는 렌더 스레드(게임에서는 같은 스레드)에서 부른다.
+ */
+public class LevelStreamer {
+
+    public static final int DEFAULT_ACTIVE_RADIUS = 1;
+    public static final int DEFAULT_RESIDENT_RADIUS = 3;  // 시야 반폭(640px)보다 넉넉하게
+    public static final int DEFAULT_EVICT_RADIUS = 5;
+
+    private ExecutorService worker; // null이면 동기
+    private int activeRadius = DEFAULT_ACTIVE_RADIUS;
+    private int residentRadius = DEFAULT_RESIDENT_RADIUS;
+    private int evictRadius = DEFAULT_EVICT_RADIUS;
+
+    private final Broadphase<Rectangle> solids = new SpatialHash<>(Map.BROADPHASE_CELL);
+    private final IntMap<Map.Chunk> resident = new IntMap<>();
+    private final IntMap<Future<Map.Chunk>> pending = new IntMap<>();
+    private final Array<Map.Chunk> scratch = new Array<>();
+    private final Array<Map.Chunk> window = new Array<>();
+    private final IntArray cursors = new IntArray();
+    private final IntArray windowRuns = new IntArray();
+    private int activeFirst = 0, activeLast = -1; // 활성 청크 범위(포함)
+
+    private Map map;
+    private int focusChunk = Integer.MIN_VALUE;
+    private int version;     // 상주 청크 집합이 바뀔 때마다 증가 (렌더러가 다시 굽는 기준)
+    private int syncBuilds;  // 워커를 기다리지 못하고 시뮬레이션 스레드에서 만든 횟수
+
+    public LevelStreamer(ExecutorService worker) {
+        this.worker = worker;
+    }
+
+    /** 새 레벨로 교체: 이전 청크는 모두 버린다 */
+    public void reset(Map map) {
+        for (Future<Map.Chunk> f : pending.values()) f.cancel(false);
+        pending.clear();
+        resident.clear();
+        solids.clear();
+        activeFirst = 0;
+        activeLast = -1;
+        this.map = map;
+        focusChunk = Integer.MIN_VALUE;
+        version++;
+    }
+
+    /** 초점 x가 속한 청크 기준으로 활성/상주/해제 (매 틱 호출, 청크가 바뀔 때만 일한다) */
+    public void update(float focusX) {
+        if (map == null) return;
+        collectFinished();
+
+        int center = Map.chunkIndex(focusX);
+        if (center == focusChunk) return;
+        focusChunk = center;
+
+        int first = map.getFirstChunk(), last = map.getLastChunk();
+
+        // 1) 해제: 먼 청크부터 비워 메모리가 시야 거리만큼만 유지되게
+        scratch.clear();
+        for (Map.Chunk c : resident.values()) {
+            if (Math.abs(c.index - center) > evictRadius) scratch.add(c);
+        }
+        for (int i = 0; i < scratch.size; i++) evict(scratch.get(i).index);
+        scratch.clear();
+        for (IntMap.Entry<Future<Map.Chunk>> e : pending.entries()) {
+            if (Math.abs(e.key - center) > evictRadius) e.value.cancel(false);
+        }
+        dropCancelled();
+
+        // 2) 활성: 시뮬레이션이 닿는 범위 — 없으면 기다리거나 직접 만든다
+        activate(Math.max(first, center - activeRadius), Math.min(last, center + activeRadius));
+
+        // 3) 미리 만들기: 진행 방향 양쪽으로 워커에 맡긴다
+        if (worker == null) return;
+        for (int d = activeRadius + 1; d <= residentRadius; d++) {
+            request(center + d);
+            request(center - d);
+        }
+    }
+
+    /** 레벨 전체를 활성화 (벤치마크/도구용 — 스트리밍을 쓰지 않는 것과 같다) */
+    public void activateAll() {
+        if (map == null) return;
+        activate(map.getFirstChunk(), map.getLastChunk());
+    }
+
+    // ---------------------------
+    // 내부
+    // ---------------------------
+    /** [from, to] 청크를 상주시키고 그 가로 구간 전체를 병합해 solids를 다시 채운다 */
+    private void activate(int from, int to) {
+        if (from == activeFirst && to == activeLast) return;
+        activeFirst = from;
+        activeLast = to;
+
+        window.clear();
+        for (int c = from; c <= to; c++) window.add(require(c));
+        interleaveRuns();
+
+        solids.clear();
+        Array<Rectangle> spans = CollisionGeometry.mergeRuns(windowRuns, TileGrid.CELL_SIZE);
+        for (int i = 0; i < spans.size; i++) {
+            Rectangle r = spans.get(i);
+            solids.insert(r, r.x, r.y, r.width, r.height);
+        }
+    }
+
+    /**
+     * 청크마다 (y, x) 순인 구간을 창 전체의 (y, x) 순으로 합친다.
+     * 청크는 x 순이므로 행(y)마다 청크 순서대로 이어 붙이면 된다(정렬 없음).
+     */
+    private void interleaveRuns() {
+        windowRuns.clear();
+        cursors.clear();
+        for (int i = 0; i < window.size; i++) cursors.add(0);
+        while (true) {
+            int rowY = Integer.MAX_VALUE;
+            for (int i = 0; i < window.size; i++) {
+                IntArray runs = window.get(i).runs;
+                int at = cursors.get(i);
+                if (at < runs.size) rowY = Math.min(rowY, runs.get(at + 1));
+            }
+            if (rowY == Integer.MAX_VALUE) break;
+            for (int i = 0; i < window.size; i++) {
+                IntArray runs = window.get(i).runs;
+                int at = cursors.get(i);
+                while (at < runs.size && runs.get(at + 1) == rowY) {
+                    windowRuns.add(runs.get(at), rowY, runs.get(at + 2));
+                    at += 3;
+                }
+                cursors.set(i, at);
+            }
+        }
+        window.clear();
+    }
+
+    /** 상주 청크를 돌려준다. 워커 결과가 있으면 기다리고, 없으면 여기서 만든다 */
+    private Map.Chunk require(int index) {
+        Map.Chunk chunk = resident.get(index);
+        if (chunk != null) return chunk;
+        Future<Map.Chunk> f = pending.remove(index);
+        chunk = (f != null && !f.isCancelled()) ? await(f, index) : null;
+        if (chunk == null) {
+            chunk = map.buildChunk(index);
+            syncBuilds++;
+        }
+        resident.put(index, chunk);
+        version++;
+        return chunk;
+    }
+
+    private void evict(int index) {
+        if (resident.remove(index) != null) version++;
+    }
+
+    private void request(final int index) {
+        if (index < map.getFirstChunk() || index > map.getLastChunk()) return;
+        if (resident.containsKey(index) || pending.containsKey(index)) return;
+        final Map target = map;
+        pending.put(index, worker.submit(new Callable<Map.Chunk>() {
+            @Override public Map.Chunk call() {
+                return target.buildChunk(index);
+            }
+        }));
+    }
+
+    /** 워커가 끝낸 청크를 상주 목록으로 옮긴다 */
+    private void collectFinished() {
+        if (pending.size == 0) return;
+        IntMap.Entries<Future<Map.Chunk>> it = pending.entries();
+        while (it.hasNext()) {
+            IntMap.Entry<Future<Map.Chunk>> e = it.next();
+            if (!e.value.isDone() || e.value.isCancelled()) continue;
+            resident.put(e.key, await(e.value, e.key));
+            it.remove();
+            version++;
+        }
+    }
+
+    private void dropCancelled() {
+        IntMap.Entries<Future<Map.Chunk>> it = pending.entries();
+        while (it.hasNext()) {
+            if (it.next().value.isCancelled()) it.remove();
+        }
+    }
+
+    private static Map.Chunk await(Future<Map.Chunk> f, int index) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while streaming chunk " + index, e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Failed to build chunk " + index, e.getCause());
+        }
+    }
+
+    // ---------------------------
+    // 설정/조회
+    // ---------------------------
+    /** 미리 만들기에 쓸 워커 (null이면 활성 범위만 동기로) */
+    public void setWorker(ExecutorService worker) {
+        this.worker = worker;
+        focusChunk = Integer.MIN_VALUE; // 다음 update에서 주변 청크를 요청
+    }
+
+    /** 반경(청크 수). active ≤ resident < evict 여야 한다 */
+    public void setRadii(int active, int resident, int evict) {
+        if (active < 0 || resident < active || evict <= resident) {
+            throw new IllegalArgumentException("radii must satisfy 0 <= active <= resident < evict");
+        }
+        activeRadius = active;
+        residentRadius = resident;
+        evictRadius = evict;
+        focusChunk = Integer.MIN_VALUE; // 다음 update에서 다시 계산
+    }
+
+    /** 시뮬레이션이 보는 충돌 사각형(활성 청크만) */
+    public Broadphase<Rectangle> getSolids() { return solids; }
+
+    /** 상주 청크를 out에 덧붙인다(순서 없음) */
+    public void getResident(Array<Map.Chunk> out) {
+        for (Map.Chunk c : resident.values()) out.add(c);
+    }
+
+    public boolean isResident(int index) { return resident.containsKey(index); }
+
+    /** 충돌 사각형이 올라와 있는 청크인지 (이 밖의 엔티티는 잠든다) */
+    public boolean isActive(int index)   { return index >= activeFirst && index <= activeLast; }
+
+    public int getVersion()       { return version; }
+    public int getResidentCount() { return resident.size; }
+    public int getActiveCount()   { return activeLast - activeFirst + 1; }
+    public int getPendingCount()  { return pending.size; }
+    public int getSyncBuilds()    { return syncBuilds; }
+    public Map getMap()           { return map; }
+}
@@ -6,33 +6,51 @@ import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
-import com.badlogic.gdx.graphics.glutils.FrameBuffer;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 public class Main extends ApplicationAdapter {
 
     private SpriteBatch batch;
     private OrthographicCamera camera;
     private Viewport viewport;
     private BitmapFont font;
-    private Texture fadeOverlay; // 1x1 black
+    private TextureRegion fadeOverlay; // 아틀라스의 흰 영역을 검정으로 틴트
     private GameWorld world;
+    private AssetLevelLoader levelLoader;
+    private LevelPrefetcher prefetcher;
+    private ExecutorService chunkWorker; // 플레이어 앞뒤 지면 청크를 미리 만든다
+    private GameAtlas atlas;
+    private LevelRenderer levelRenderer;
+    private EntityRenderer entityRenderer;
+    private Sound sfxPipe, sfxFlag;
     private final InputState input = new InputState();
-    private Texture bgTex;
-    private float bgParallax = 0.4f; // 0(고정)~1(카메라와 동일). 취향껏
-    private String lastBgKey = null;
+    private ParallaxBackground background; // 레이어별 스크롤 배율은 AssetLevelLoader.backgroundLayers
+    private int lastBgLevel = -1;  // 배경이 로드된 레벨(문자열 키 대신 정수로 비교)
     private enum GameState { RUNNING, PAUSED }
     private GameState state = GameState.RUNNING;
     private CameraFxManager camFx;
+    // HUD 문자열 캐시
+    private final StringBuilder hudBuilder = new StringBuilder(64);
+    private String hudText;
+    private int hudLevel, hudScore;
+    private boolean hudUnderwater;
+    // 렌더 패스
+    private RenderPipeline pipeline;
+    private RenderStats stats;       // F3로 켜고 끄는 프로파일러 오버레이
+    private int phaseLoad, phaseSim, phaseCamera;
+    private boolean underwater;      // 이번 프레임 수중 여부 (패스들이 참조)
     // 화면 비율
     private static final float VIRTUAL_WIDTH = 1280f;
     private static final float VIRTUAL_HEIGHT = 720f;
@@ -41,12 +59,35 @@ public class Main extends ApplicationAdapter {
     private Animation<TextureRegion> walkAnim;
     private Animation<TextureRegion> swimAnim;
     private float stateTime = 0f;
-    // --- Underwater post-process ---
-    private FrameBuffer waterFbo;
-    private ShaderProgram waterShader;
-    private TextureRegion waterRegion; // FBO를 뒤집은 텍스처 영역
-    private float waterTime = 0f;
-    private static final float UNDERWATER_ZOOM = 1.25f; // 시야 살짝 좁히기
+
+    // --- 고정 틱 시뮬레이션 ---
+    public static final float DEFAULT_SIM_HZ = 60f;
+    private static final int MAX_CATCHUP_STEPS = 5;  // 히치 후 한 프레임에 따라잡을 최대 틱
+    private final FixedTimestep stepper;             // null이면 가변 delta 모드
+    private float renderAlpha = 1f;                  // 이전 ↔ 현재 틱 보간 계수
+
+    public Main() {
+        this(DEFAULT_SIM_HZ);
+    }
+
+    /**
+     * @param simulationHz 시뮬레이션 틱 속도(Hz). 0 이하이면 예전처럼 프레임 delta를 그대로 사용
+     */
+    public Main(float simulationHz) {
+        this.stepper = simulationHz > 0f ? new FixedTimestep(simulationHz, MAX_CATCHUP_STEPS) : null;
+    }
+
+    // --- QA 입력 기록(.mrec) ---
+    private String recordingDir;                  // null이면 기록 안 함
+    private InputRecording.Recorder recorder;
+
+    /**
+     * 세션 입력을 틱 단위로 기록해 종료 시 dir에 저장한다(고정 틱 모드에서만 — 재생이 결정적이어야 하므로).
+     * create() 전에 호출.
+     */
+    public void setRecordingDir(String dir) {
+        this.recordingDir = dir;
+    }
 
     @Override
     public void create() {
@@ -54,68 +95,155 @@ public class Main extends ApplicationAdapter {
         camera = new OrthographicCamera();
         viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
         viewport.apply();
-        camFx = new CameraFxManager();
-        camFx.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        camFx = new CameraFxManager(); // 수중 후처리 타깃은 resize()에서 뷰포트 크기로 잡는다
         camera.position.set(VIRTUAL_WIDTH / 2, VIRTUAL_HEIGHT / 2, 0);
         camera.update();
         font = new BitmapFont();
 
-        walkAnim = GifDecoder.loadGIFAnimation(PlayMode.LOOP, Gdx.files.internal("mario.gif").readBytes());
-        swimAnim = GifDecoder.loadGIFAnimation(PlayMode.LOOP, Gdx.files.internal("swim.gif").readBytes());
-
-        if (walkAnim == null)  walkAnim = makeSingleFrameAnim(64, 64); // 흰색 64x64
+        atlas = new GameAtlas();
+        walkAnim = atlas.animation(GameAtlas.WALK, PlayMode.LOOP);
+        swimAnim = atlas.animation(GameAtlas.SWIM, PlayMode.LOOP);
+
+        // 플레이어 충돌 크기 = 첫 걷기 프레임 크기 (GIF가 없으면 기본 크기의 흰 사각형)
+        float playerW = GameWorld.DEFAULT_PLAYER_WIDTH;
+        float playerH = GameWorld.DEFAULT_PLAYER_HEIGHT;
+        if (walkAnim != null) {
+            TextureRegion first = walkAnim.getKeyFrame(0f);
+            playerW = first.getRegionWidth();
+            playerH = first.getRegionHeight();
+        } else {
+            walkAnim = makeSingleFrameAnim();
+        }
         if (swimAnim == null)  swimAnim = walkAnim;
 
-        TextureRegion first = walkAnim.getKeyFrame(0f);
-        Texture initial = first.getTexture();
-
-        world = new GameWorld(initial);
+        levelLoader = new AssetLevelLoader(Gdx.files.internal("maps"));
+        world = new GameWorld(levelLoader, playerW, playerH);
+        world.setTransitions(true); // 파이프/깃발 → 페이드, 다음 레벨은 LOADING 동안 백그라운드 준비
+        chunkWorker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "chunk-streamer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        world.setChunkWorker(chunkWorker);
+        prefetcher = new LevelPrefetcher(levelLoader); // 출구 근처/일정 시간 후 다음 레벨을 미리 준비
+        levelRenderer = new LevelRenderer(atlas);
+        entityRenderer = new EntityRenderer(atlas);
+
+        sfxPipe = Gdx.audio.newSound(Gdx.files.internal("pipe.wav"));
+        sfxFlag = Gdx.audio.newSound(Gdx.files.internal("flag.wav"));
+        if (recordingDir != null && stepper != null) {
+            recorder = new InputRecording.Recorder(world.getLevel(), stepper.getTicksPerSecond(), 0L);
+        }
+        world.setListener(new GameWorld.Listener() {
+            @Override public void onPipeTransition() { sfxPipe.play(0.7f); }
+            @Override public void onFlagTransition() { sfxFlag.play(0.8f); }
+        });
 
-        Pixmap pm = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
-        pm.setColor(0,0,0,1);
-        pm.fill();
-        fadeOverlay = new Texture(pm);
-        pm.dispose();
+        fadeOverlay = atlas.region(GameAtlas.WHITE);
 
-        initUnderwaterShader();
-        initUnderwaterFbo(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        background = new ParallaxBackground();
+        // 첫 레벨 배경도 render에서 조각이 준비되는 대로 붙인다 (create에서 기다리지 않는다)
 
-        String key;
-        try {
-            Object lv = world.getLevel();
-            key = (lv == null) ? "level1" : (lv instanceof Number ? "level" + lv : String.valueOf(lv));
-        } catch (Exception e) { key = "level1"; }
+        buildPipeline();
+    }
 
-        loadBackgroundForLevel(key);
-        lastBgKey = key;
+    /**
+     * 프레임 패스 구성. SCENE 패스(배경/월드/플레이어)는 수중 후처리가 켜져 있으면 FBO로 모이고,
+     * 후처리 패스가 그 결과를 화면에 옮긴 뒤 HUD/페이드가 또렷하게 올라간다.
+     */
+    private void buildPipeline() {
+        stats = new RenderStats();
+        stats.setEnabled(Boolean.getBoolean("render.stats"));
+        phaseLoad = stats.phase("load");
+        phaseSim = stats.phase("sim");
+        phaseCamera = stats.phase("camera");
+
+        pipeline = new RenderPipeline(batch);
+        pipeline.setSceneTarget(camFx);
+        pipeline.setStats(stats);
+
+        pipeline.add(new RenderPipeline.Pass("background", RenderPipeline.Target.SCENE) {
+            @Override public boolean isEnabled() { return background.hasLayers(); }
+            @Override public void draw(SpriteBatch batch) { background.draw(batch, camera); }
+        });
+        pipeline.add(new RenderPipeline.Pass("world", RenderPipeline.Target.SCENE) {
+            @Override public void draw(SpriteBatch batch) { levelRenderer.draw(batch, world, camera); }
+        });
+        pipeline.add(new RenderPipeline.Pass("entities", RenderPipeline.Target.SCENE) {
+            @Override public boolean isEnabled() { return world.getEntities().size() > 0; }
+            @Override public void draw(SpriteBatch batch) { entityRenderer.draw(batch, world, camera, renderAlpha); }
+        });
+        pipeline.add(new RenderPipeline.Pass("player", RenderPipeline.Target.SCENE) {
+            @Override public void draw(SpriteBatch batch) { drawPlayer(batch); }
+        });
+        pipeline.add(new RenderPipeline.Pass("postFx", RenderPipeline.Target.SCREEN) {
+            @Override public boolean isEnabled() { return camFx != null && camFx.isActive(); }
+            @Override public boolean isBatchless() { return true; }
+            @Override public void draw(SpriteBatch batch) { camFx.post(batch); }
+        });
+        pipeline.add(new RenderPipeline.Pass("hud", RenderPipeline.Target.SCREEN) {
+            @Override public void draw(SpriteBatch batch) {
+                drawHud();
+                if (state == GameState.PAUSED) {
+                    font.draw(batch, "[PAUSED] Press P to Resume",
+                        camera.position.x - 120, camera.position.y + VIRTUAL_HEIGHT * 0.35f);
+                }
+            }
+        });
+        pipeline.add(new RenderPipeline.Pass("fade", RenderPipeline.Target.SCREEN) {
+            @Override public boolean isEnabled() { return fadeOverlay != null && world.getTransitionAlpha() > 0f; }
+            @Override public void draw(SpriteBatch batch) {
+                batch.setColor(0f, 0f, 0f, world.getTransitionAlpha());
+                batch.draw(fadeOverlay, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+                batch.setColor(1f, 1f, 1f, 1f);
+            }
+        });
+        pipeline.add(new RenderPipeline.Pass("stats", RenderPipeline.Target.SCREEN) {
+            @Override public boolean isEnabled() { return stats.isEnabled(); }
+            @Override public void draw(SpriteBatch batch) {
+                font.draw(batch, stats.overlayText(), camera.position.x - 600, camera.position.y + 270);
+            }
+        });
     }
 
     @Override
     public void render() {
+        if (world.isGameCleared()) { // 마지막 레벨 다음 → 종료
+            System.out.println("게임 클리어! 종료합니다.");
+            Gdx.app.exit();
+            return;
+        }
         float delta = Gdx.graphics.getDeltaTime();
         stateTime += delta;
-        // === 레벨 변경 감지 및 배경 교체 ===
-        String keyNow = null;
-        try {
-            Object lv = world.getLevel();
-            keyNow = (lv == null) ? null : (lv instanceof Number ? "level" + lv : String.valueOf(lv));
-        } catch (Exception ignored) {}
-
-        if (keyNow != null && !keyNow.equals(lastBgKey)) {
-            loadBackgroundForLevel(keyNow);
-            lastBgKey = keyNow;
+        stats.beginFrame(batch);
+        stats.begin(phaseLoad);
+        // === 레벨 변경 감지 및 배경 교체 (조각이 다 잘린 뒤에만 — 렌더 스레드는 기다리지 않는다) ===
+        int levelNow = world.getLevel();
+        if (levelNow != lastBgLevel && levelLoader.isBackgroundReady(levelNow)) {
+            loadBackgroundForLevel(levelNow);
+            lastBgLevel = levelNow;
         }
+        stats.end(phaseLoad);
 
         // 1) 입력 수집 + 일시정지 토글
         pollInput();
         if (input.pause) togglePause();
 
         // 2) 업데이트 (RUNNING일 때만)
+        stats.begin(phaseSim);
         if (state == GameState.RUNNING) {
-            world.update(delta, input);
+            stepSimulation(delta);
+            prefetcher.update(delta, world);
+        } else if (stepper != null) {
+            stepper.reset();
+            input.jump = false;
         }
+        stats.end(phaseSim);
 
         // 3) 카메라: 플레이어 중심 보간 추적
+        stats.begin(phaseCamera);
         cameraFollow(world);
 
         // 4) 레벨2(수중) 여부
@@ -140,131 +268,36 @@ public class Main extends ApplicationAdapter {
             camera.zoom += (1.0f - camera.zoom) * 0.35f;
         }
         camera.update();
+        stats.end(phaseCamera);
 
-        // 7) 화면 클리어 & 공통 설정
+        // 7) 화면 클리어 후 패스 실행 (배경 → 월드 → 플레이어 → [후처리] → HUD → 페이드)
         ScreenUtils.clear(0f, 0f, 0f, 1f);
-        // === 배경 ===
-        if (bgTex != null) {
-            batch.setProjectionMatrix(camera.combined);
-            batch.begin();
-            float viewW = camera.viewportWidth * camera.zoom;
-            float viewH = camera.viewportHeight * camera.zoom;
-            float scroll = camera.position.x * bgParallax;
-            float u  = scroll / bgTex.getWidth();
-            float u2 = u + (viewW / bgTex.getWidth());
-            float drawX = camera.position.x - viewW * 0.5f;
-            float drawY = camera.position.y - viewH * 0.5f;
-            batch.draw(bgTex, drawX, drawY, viewW, viewH, u, 0f, u2, 1f);
-            batch.end();
-        }
+        this.underwater = underwater;
         batch.setProjectionMatrix(camera.combined);
+        pipeline.render();
+        stats.endFrame(batch, camFx.takeFboPassCount(),
+            levelRenderer.getDrawnCount(), levelRenderer.getCulledCount(), delta);
 
-        final boolean useFx = (underwater && camFx != null && camFx.isActive());
-
-        if (useFx) {
-            // ===== 수중 경로: 씬→FBO, FBO→'약한 블러'만 적용, HUD/페이드는 또렷하게 =====
-            camFx.beginScene();
-
-            batch.setShader(null);
-            batch.begin();
-
-            drawBackground(batch, camera, /*flipY=*/true);
-
-            // 월드(블록/파이프/깃발)
-            if (world.getBlocks() != null) for (Block b : world.getBlocks()) b.draw(batch);
-            if (world.getPipes()  != null) for (Pipe  p : world.getPipes())  p.draw(batch);
-            if (world.getFlag()   != null) world.getFlag().draw(batch);
-
-            // 플레이어: 수중 GIF 프레임 (루프 보장)
-            GameCharacter player = world.getPlayer();
-            Animation<TextureRegion> safeWalk = (walkAnim != null) ? walkAnim : makeSingleFrameAnim(64,64);
-            Animation<TextureRegion> safeSwim = (swimAnim != null) ? swimAnim : safeWalk;
-            TextureRegion currentFrame = safeSwim.getKeyFrame(stateTime, true);
-
-            float w = currentFrame.getRegionWidth();
-            float h = currentFrame.getRegionHeight();
-            float drawX = player.position.x;
-            float drawY = player.position.y;
-            if (player.facingLeft) { drawX += w; batch.draw(currentFrame, drawX, drawY, -w, h); }
-            else                   {              batch.draw(currentFrame, drawX, drawY,  w, h); }
-
-            batch.end();
-            camFx.endSceneAndPost(camera, batch); // 블러만 적용해서 화면에 투사
-
-            // HUD/PAUSE/페이드 (블러 없이 또렷)
-            batch.setShader(null);
-            batch.begin();
-
-            drawHud();
-            if (state == GameState.PAUSED) {
-                font.draw(batch, "[PAUSED] Press P to Resume",
-                    camera.position.x - 120, camera.position.y + VIRTUAL_HEIGHT * 0.35f);
-            }
-
-            float a = world.getTransitionAlpha();
-            if (a > 0f && fadeOverlay != null) {
-                batch.setColor(1f, 1f, 1f, a);
-                batch.draw(fadeOverlay, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-                batch.setColor(1f, 1f, 1f, 1f);
-            }
-
-            batch.end();
-
-        } else {
-            // ===== 일반 경로 =====
-            batch.setShader(null);
-            batch.begin();
-
-            drawBackground(batch, camera, /*flipY=*/true);
-
-            if (world.getBlocks() != null) for (Block b : world.getBlocks()) b.draw(batch);
-            if (world.getPipes()  != null) for (Pipe  p : world.getPipes())  p.draw(batch);
-            if (world.getFlag()   != null) world.getFlag().draw(batch);
-
-            // 플레이어: 지상/점프/대기 프레임 선택 (루프 보장)
-            GameCharacter player = world.getPlayer();
-            Animation<TextureRegion> safeWalk = (walkAnim != null) ? walkAnim : makeSingleFrameAnim(64,64);
-            Animation<TextureRegion> safeSwim = (swimAnim != null) ? swimAnim : safeWalk;
-            TextureRegion currentFrame;
-            if (underwater) {
-                currentFrame = safeSwim.getKeyFrame(stateTime, true);
-            } else {
-                if (player.anim == GameCharacter.Anim.RUN)
-                    currentFrame = safeWalk.getKeyFrame(stateTime, true);
-                else if (player.anim == GameCharacter.Anim.JUMP)
-                    currentFrame = safeWalk.getKeyFrame(0f, true);
-                else
-                    currentFrame = safeWalk.getKeyFrame(0f, true);
-            }
-
-            float w = currentFrame.getRegionWidth();
-            float h = currentFrame.getRegionHeight();
-            float drawX = player.position.x;
-            float drawY = player.position.y;
-            if (player.facingLeft) { drawX += w; batch.draw(currentFrame, drawX, drawY, -w, h); }
-            else                   {              batch.draw(currentFrame, drawX, drawY,  w, h); }
-
-            // HUD/PAUSE
-            drawHud();
-            if (state == GameState.PAUSED) {
-                font.draw(batch, "[PAUSED] Press P to Resume",
-                    camera.position.x - 120, camera.position.y + VIRTUAL_HEIGHT * 0.35f);
-            }
-
-            // 페이드
-            float a = world.getTransitionAlpha();
-            if (a > 0f && fadeOverlay != null) {
-                batch.setColor(1f, 1f, 1f, a);
-                batch.draw(fadeOverlay, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-                batch.setColor(1f, 1f, 1f, 1f);
-            }
+        // 8) 엣지 입력 리셋(점프는 틱에서 소비될 때 리셋)
+        input.pause = false;
+    }
 
-            batch.end();
+    /** 고정 틱이면 누산기만큼 world.update를 반복, 아니면 프레임 delta로 한 번 */
+    private void stepSimulation(float delta) {
+        if (stepper == null) {
+            world.update(delta, input);
+            input.jump = false;
+            renderAlpha = 1f;
+            return;
         }
-
-        // 8) 엣지 입력 리셋(이전 버전 흐름 유지)
-        input.jump = false;
-        input.pause = false;
+        int steps = stepper.advance(delta);
+        for (int i = 0; i < steps; i++) {
+            // 전환 중 정지 틱은 기록하지 않는다(헤드리스 재생은 동기 전환)
+            if (recorder != null && !world.isTransitioning()) recorder.record(input);
+            world.update(stepper.getStep(), input);
+            input.jump = false; // 엣지 입력은 첫 틱에서만 소비
+        }
+        renderAlpha = stepper.getAlpha();
     }
 
     private void pollInput() {
@@ -274,6 +307,7 @@ public class Main extends ApplicationAdapter {
         input.down  = Gdx.input.isKeyPressed(Input.Keys.DOWN)  || Gdx.input.isKeyPressed(Input.Keys.S);
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) input.jump = true;
         if (Gdx.input.isKeyJustPressed(Input.Keys.P)) input.pause = true;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) stats.toggle();
     }
 
     private void togglePause() {
@@ -282,178 +316,104 @@ public class Main extends ApplicationAdapter {
 
     private void cameraFollow(GameWorld world) {
         if (world == null || world.getPlayer() == null) return;
-        float targetX = world.getPlayer().position.x + world.getPlayer().getWidth() * 0.5f;
-        float targetY = world.getPlayer().position.y + world.getPlayer().getHeight() * 0.5f;
+        GameCharacter p = world.getPlayer();
+        float targetX = p.getRenderX(renderAlpha) + p.getWidth() * 0.5f;
+        float targetY = p.getRenderY(renderAlpha) + p.getHeight() * 0.5f;
         float lerp = 0.1f;
         camera.position.x += (targetX - camera.position.x) * lerp;
         camera.position.y += (targetY - camera.position.y) * lerp;
     }
 
+    /** 플레이어: 수중이면 수영 프레임, 지상이면 달리기/대기 프레임 (좌우 반전 포함) */
+    private void drawPlayer(SpriteBatch batch) {
+        GameCharacter player = world.getPlayer();
+        // walkAnim/swimAnim은 create()에서 null 대체가 끝나 있음(프레임마다 텍스처 생성 금지)
+        TextureRegion currentFrame;
+        if (underwater) {
+            currentFrame = swimAnim.getKeyFrame(stateTime, true);
+        } else if (player.anim == GameCharacter.Anim.RUN) {
+            currentFrame = walkAnim.getKeyFrame(stateTime, true);
+        } else {
+            currentFrame = walkAnim.getKeyFrame(0f, true); // 점프/대기
+        }
+
+        float w = currentFrame.getRegionWidth();
+        float h = currentFrame.getRegionHeight();
+        float drawX = player.getRenderX(renderAlpha);
+        float drawY = player.getRenderY(renderAlpha);
+        if (player.facingLeft) { drawX += w; batch.draw(currentFrame, drawX, drawY, -w, h); }
+        else                   {              batch.draw(currentFrame, drawX, drawY,  w, h); }
+    }
+
     private void drawHud() {
-        String lvType = world.isUnderwater() ? "UNDERWATER" : "GROUND";
-        String text1 = String.format("LEVEL: %d | TYPE: %s | SCORE: %d",
-            world.getLevel(), lvType, world.getScore());
-        font.draw(batch, text1, camera.position.x - 600, camera.position.y + 300);
+        // 값이 바뀐 프레임에만 문자열을 다시 만든다
+        int level = world.getLevel();
+        int score = world.getScore();
+        boolean uw = world.isUnderwater();
+        if (hudText == null || level != hudLevel || score != hudScore || uw != hudUnderwater) {
+            hudLevel = level;
+            hudScore = score;
+            hudUnderwater = uw;
+            hudBuilder.setLength(0);
+            hudBuilder.append("LEVEL: ").append(level)
+                .append(" | TYPE: ").append(uw ? "UNDERWATER" : "GROUND")
+                .append(" | SCORE: ").append(score);
+            hudText = hudBuilder.toString();
+        }
+        font.draw(batch, hudText, camera.position.x - 600, camera.position.y + 300);
     }
 
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height);
-        initUnderwaterFbo(width, height);
+        camFx.resize(viewport.getScreenX(), viewport.getScreenY(),
+            viewport.getScreenWidth(), viewport.getScreenHeight());
     }
 
     @Override
     public void dispose() {
+        saveRecording();
         batch.dispose();
         font.dispose();
-        if (fadeOverlay != null) fadeOverlay.dispose();
-        if (world != null) world.disposeFadeSfx();
-        if (waterFbo != null) waterFbo.dispose();
-        if (waterShader != null) waterShader.dispose();
-        if (bgTex != null) { bgTex.dispose(); bgTex = null; }
+        if (levelRenderer != null) levelRenderer.dispose();
+        if (atlas != null) atlas.dispose();
+        if (sfxPipe != null) sfxPipe.dispose();
+        if (sfxFlag != null) sfxFlag.dispose();
+        if (camFx != null) camFx.dispose();
+        if (background != null) background.dispose();
+        if (levelLoader != null) levelLoader.dispose();
+        if (chunkWorker != null) chunkWorker.shutdownNow();
     }
 
-    private Animation<TextureRegion> safeLoadGif(String path) {
-        // 파일 존재 진단
-        boolean exists = Gdx.files.internal(path).exists();
-        Gdx.app.log("ASSET", path + " exists=" + exists + " path=" + Gdx.files.internal(path).path());
-        if (!exists) return null;
-
+    private void saveRecording() {
+        if (recorder == null || recorder.getTickCount() == 0) return;
+        FileHandle file = Gdx.files.absolute(recordingDir)
+            .child("session-" + System.currentTimeMillis() + "." + InputRecording.EXTENSION);
         try {
-            return GifDecoder.loadGIFAnimation(Animation.PlayMode.LOOP, Gdx.files.internal(path).readBytes());
-        } catch (Throwable t) {
-            Gdx.app.error("ASSET", "Failed to load gif: " + path, t);
-            return null;
+            recorder.finish().save(file);
+            Gdx.app.log("REPLAY", "Saved " + recorder.getTickCount() + " ticks to " + file.path());
+        } catch (Exception e) {
+            Gdx.app.error("REPLAY", "Failed to save recording", e);
         }
+        recorder = null;
     }
 
-    private Animation<TextureRegion> makeSingleFrameAnim(int w, int h) {
-        Pixmap px = new Pixmap(w, h, Pixmap.Format.RGBA8888);
-        px.setColor(1,1,1,1);
-        px.fill();
-        Texture tex = new Texture(px);
-        px.dispose();
-        TextureRegion tr = new TextureRegion(tex);
+    private Animation<TextureRegion> makeSingleFrameAnim() {
+        // 아틀라스의 흰 영역을 그대로 쓴다(별도 텍스처를 만들지 않음)
+        TextureRegion tr = atlas.region(GameAtlas.WHITE);
         Animation<TextureRegion> a = new Animation<TextureRegion>(0.2f, tr); // 더미 프레임
         a.setPlayMode(Animation.PlayMode.LOOP);
         return a;
     }
 
-    private void initUnderwaterShader() {
-        // LibGDX: 셰이더 디버그 로그 허용
-        ShaderProgram.pedantic = false;
-
-        // 간단한 스크린 패스용 정점 셰이더
-        String vert =
-            "attribute vec4 a_position;\n" +
-                "attribute vec2 a_texCoord0;\n" +
-                "uniform mat4 u_projTrans;\n" +
-                "varying vec2 v_texCoord;\n" +
-                "void main(){\n" +
-                "  v_texCoord = a_texCoord0;\n" +
-                "  gl_Position = u_projTrans * a_position;\n" +
-                "}\n";
-
-        // 수중 굴절 + 약한 박스블러 + 푸른 틴트 + 약한 카스틱
-        String frag =
-            "#ifdef GL_ES\n" +
-                "precision mediump float;\n" +
-                "#endif\n" +
-                "varying vec2 v_texCoord;\n" +
-                "uniform sampler2D u_texture;\n" +
-                "uniform float u_time;\n" +
-                "uniform vec2 u_resolution;\n" +
-                "vec2 wobble(vec2 uv){\n" +
-                "  float f = 10.0;\n" +
-                "  float a = 0.0035;\n" +
-                "  uv.y += sin((uv.x + u_time) * f) * a;\n" +
-                "  uv.x += cos((uv.y + u_time * 0.7) * f) * a;\n" +
-                "  return uv;\n" +
-                "}\n" +
-                "vec4 blur(sampler2D t, vec2 uv){\n" +
-                "  vec2 texel = 1.0 / u_resolution;\n" +
-                "  vec4 c = texture2D(t, uv) * 4.0;\n" +
-                "  c += texture2D(t, uv + vec2( texel.x, 0.0));\n" +
-                "  c += texture2D(t, uv + vec2(-texel.x, 0.0));\n" +
-                "  c += texture2D(t, uv + vec2(0.0,  texel.y));\n" +
-                "  c += texture2D(t, uv + vec2(0.0, -texel.y));\n" +
-                "  c += texture2D(t, uv + vec2( texel.x,  texel.y));\n" +
-                "  c += texture2D(t, uv + vec2(-texel.x,  texel.y));\n" +
-                "  c += texture2D(t, uv + vec2( texel.x, -texel.y));\n" +
-                "  c += texture2D(t, uv + vec2(-texel.x, -texel.y));\n" +
-                "  return c / 13.0;\n" +
-                "}\n" +
-                "void main(){\n" +
-                "  vec2 uv = v_texCoord;\n" +
-                "  vec2 wuv = wobble(uv);\n" +
-                "  vec4 scene = blur(u_texture, wuv);\n" +
-                "  // 푸른 틴트 & 비네팅\n" +
-                "  vec3 tint = vec3(0.85, 0.95, 1.0);\n" +
-                "  scene.rgb = mix(scene.rgb, scene.rgb * tint, 0.25);\n" +
-                "  float d = distance(uv, vec2(0.5));\n" +
-                "  float vig = smoothstep(0.9, 0.25, 1.0 - d);\n" +
-                "  scene.rgb *= vig;\n" +
-                "  // 약한 카스틱 하이라이트\n" +
-                "  float ca = 0.05 * sin((uv.y*40.0 + u_time*2.0)) * cos((uv.x*30.0 - u_time*1.5));\n" +
-                "  scene.rgb += ca;\n" +
-                "  gl_FragColor = scene;\n" +
-                "}\n";
-
-        waterShader = new ShaderProgram(vert, frag);
-        if (!waterShader.isCompiled()) {
-            Gdx.app.error("","SHADER\", waterShader.getLog()");
-                // 셰이더 실패 시에도 게임이 돌아가도록 null 허용
-                waterShader = null;
-        }
-    }
-
-    private void initUnderwaterFbo(int width, int height) {
-        if (waterFbo != null) waterFbo.dispose();
-        waterFbo = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
-        // FBO 텍스처를 Y-플립한 TextureRegion으로 잡아두기
-        Texture fboTex = waterFbo.getColorBufferTexture();
-        fboTex.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        waterRegion = new TextureRegion(fboTex);
-        waterRegion.flip(false, true); // LibGDX FBO는 상하 반전되어 있음
-    }
-
     // ------------------------------------------------------
-// Background: level → texture load & draw helpers
+// Background: level → parallax layers
 // ------------------------------------------------------
-    private void loadBackgroundForLevel(String levelKey) {
-        if (bgTex != null) { bgTex.dispose(); bgTex = null; }
-        String key = (levelKey == null) ? "" : levelKey.toLowerCase();
-
-        // 고정 매핑: 1=초원, 2=물속, 3=산
-        String path;
-        if (key.contains("level2") || key.equals("2"))      path = "lev2back.png";
-        else if (key.contains("level3") || key.equals("3")) path = "lev3back.png";
-        else                                                path = "lev1back.png";
-
-        bgTex = new Texture(path);
-        bgTex.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.ClampToEdge);
-    }
-
-    // UV 대신 '음수 높이'로 뒤집기를 처리해서 FBO/텍스처 이중좌표 문제를 회피
-    private void drawBackground(SpriteBatch batch, OrthographicCamera camera, boolean flipY) {
-        if (bgTex == null) return;
-
-        float viewW = camera.viewportWidth * camera.zoom;
-        float viewH = camera.viewportHeight * camera.zoom;
-
-        float scroll = camera.position.x * bgParallax;
-        float u  = scroll / bgTex.getWidth();
-        float u2 = u + (viewW / bgTex.getWidth());
-
-        float drawX = camera.position.x - viewW * 0.5f;
-        float drawY = camera.position.y - viewH * 0.5f;
-
-        if (flipY) {
-            // 높이를 음수로 주고, 시작 y를 위쪽으로 한 칸 올려서 정확히 뒤집어 그린다
-            batch.draw(bgTex, drawX, drawY + viewH, viewW, -viewH, u, 0f, u2, 1f);
-        } else {
-            batch.draw(bgTex, drawX, drawY, viewW, viewH, u, 0f, u2, 1f);
-        }
+    private void loadBackgroundForLevel(int level) {
+        // 압축 조각은 AssetLevelLoader 워커가 이미 잘라 두었다(isBackgroundReady 확인 후 호출).
+        // 텍스처 업로드는 ParallaxBackground가 화면에 걸친 조각만, 프레임당 예산 안에서 한다
+        background.setLayers(levelLoader.getBackgroundLayers(level));
+        levelLoader.releaseBackgroundsExcept(level);
     }
 
 }
@@ -1,102 +1,211 @@
 package io.jbnu.test;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.files.FileHandle;
 
+import java.nio.IntBuffer;
+
+/**
+ * 레벨 데이터(지면 셀 격자, 트리거, 엔티티)와 트리거 공간 색인.
+ * 텍스처/사운드에 의존하지 않으므로 헤드리스(CI/서버)에서도 생성 가능.
+ * 그리기는 LevelRenderer 담당.
+ *
+ * 지면은 CHUNK_SIZE 폭의 세로 띠(청크)로 나뉜다. 충돌용 가로 구간은 buildChunk로
+ * 청크마다 따로 만들며, 어떤 청크를 올려 둘지(와 충돌 사각형 병합)는 LevelStreamer가 정한다.
+ * 그리기는 청크의 격자 열 범위를 LevelRenderer가 직접 훑는다(셀마다 객체를 만들지 않음).
+ * 로딩 후에는 바뀌지 않으므로 buildChunk는 어느 스레드에서 불러도 된다.
+ *
+ * 컴파일된 맵은 격자와 청크 구간을 매핑된 .mlvl 위에서 그대로 읽으므로 실제로 올라오는 것은
+ * 스트리머가 만든 청크 부분뿐이다. 트리거/엔티티 정의는 (수가 적어) 레벨 전체를 힙에 둔다.
+ */
+
 public class Map {
-    private Array<Block> groundBlocks;
+    // 브로드페이즈 셀 크기(px). 타일(50px) 여러 개와 플레이어 한 명이 한 셀에 들어가는 정도
+    public static final float BROADPHASE_CELL = 200f;
+    /** 스트리밍 청크 폭(px). LevelRenderer의 그리기 청크, TileGrid의 청크 블록과 같은 격자 (타일 8칸, 브로드페이즈 셀 2칸) */
+    public static final float CHUNK_SIZE = TileGrid.CHUNK_WIDTH;
+
+    private final TileGrid grid;                // 지면 셀 배치(칸당 1바이트)
+    // 컴파일러가 미리 계산한 청크별 가로 구간 (없으면 buildChunk에서 계산)
+    private final int runFirstChunk;
+    private final IntBuffer chunkRunOffsets;    // 청크 i의 구간 = runData[off[i] .. off[i+1]) (.mlvl을 그대로 봄)
+    private final IntBuffer runData;
     private Array<Rectangle> deathZones;
-    private Array<Object> entities;
+    private Array<MapData.EntityDef> entities;
     private Array<Pipe> pipeTriggers;
     private Flag flag;
 
+    // 레벨 로딩 시 한 번 구성하는 트리거 색인: 파이프/깃발/죽음 영역 (수가 적어 레벨 전체를 둔다)
+    // 엔티티는 EntityWorld가 시뮬레이션하므로 넣지 않는다
+    private final Broadphase<Object> triggers = new SpatialHash<>(BROADPHASE_CELL);
+
     private int level;
-    private Texture blockTexture;
-    private Texture pipeUpTexture;
-    private Texture pipeDownTexture;
-    private Texture flagTexture;
 
-    public Map(int level) {
+    /** 맵 파일(JSON 또는 컴파일된 .mlvl)을 읽어 레벨 구성. 그래픽/오디오 없이도 동작 */
+    public Map(int level, FileHandle file) {
+        this(level, MapFormat.EXTENSION.equals(file.extension()) ? MapFormat.load(file) : compile(parse(file)));
+    }
+
+    /** 이미 읽은(또는 코드로 만든) 맵 데이터로 레벨 구성 */
+    public Map(int level, MapData mapData) {
+        this(level, compile(mapData));
+    }
+
+    /** 컴파일된 레벨 데이터로 구성 (타일은 격자 그대로 — 셀마다 객체를 만들지 않음) */
+    public Map(int level, MapFormat.Compiled data) {
         this.level = level;
-        groundBlocks = new Array<>();
+        this.grid = data.grid;
+        this.runFirstChunk = data.runFirstChunk;
+        this.chunkRunOffsets = data.chunkRunOffsets;
+        this.runData = data.runData;
         deathZones = new Array<>();
         entities = new Array<>();
         pipeTriggers = new Array<>();
         flag = null;
 
-        blockTexture = new Texture(Gdx.files.internal("block.png"));
-        pipeUpTexture = new Texture(Gdx.files.internal("pipe.png"));
-        pipeDownTexture = new Texture(Gdx.files.internal("pipedown.png"));
-        flagTexture = new Texture(Gdx.files.internal("flag.png"));
+        build(data);
+        buildBroadphase();
+    }
 
-        String mapPath = getMapPath(level);
-        loadFromJson(mapPath);
+    public static MapData parse(FileHandle file) {
+        try {
+            return new Json().fromJson(MapData.class, file);
+        } catch (Exception e) {
+            throw new GdxRuntimeException("Failed to load " + file.path(), e);
+        }
     }
 
-    private String getMapPath(int level) {
-        // 내부적으로 MyFirstProject/assets/maps/levelX.json 사용
-        switch (level) {
-            case 1: return "maps/level1.json";
-            case 2: return "maps/level2.json";
-            case 3: return "maps/level3.json";
-            default: return "maps/level1.json"; // 기본값
+    /** JSON 데이터를 런타임 형태로: 지면 타일 사각형 → 셀 격자, 나머지는 그대로 */
+    static MapFormat.Compiled compile(MapData mapData) {
+        MapFormat.Compiled c = new MapFormat.Compiled();
+        c.grid = TileGrid.fromTiles(mapData.ground);
+        if (mapData.deathZones != null) c.deathZones.addAll(mapData.deathZones);
+        if (mapData.pipes != null) c.pipes.addAll(mapData.pipes);
+        if (mapData.entities != null) c.entities.addAll(mapData.entities);
+        c.flag = mapData.flag;
+        return c;
+    }
+
+    static Pipe.Orientation pipeOrientation(MapData.PipeDef p) {
+        return "up".equalsIgnoreCase(p.orientation) ? Pipe.Orientation.UP : Pipe.Orientation.DOWN;
+    }
+
+    private void build(MapFormat.Compiled data) {
+        // === Ground ===
+        // 셀은 격자로만 둔다. 충돌 사각형은 청크가 올라올 때 buildChunk에서 만든다
+
+        // === Death zones ===
+        for (MapData.RectDef rect : data.deathZones) {
+            deathZones.add(new Rectangle(rect.x, rect.y, rect.w, rect.h));
+        }
+
+        // === Entities ===
+        entities.addAll(data.entities);
+
+        // === Pipe triggers ===
+        for (MapData.PipeDef p : data.pipes) {
+            pipeTriggers.add(new Pipe(p.x, p.y, pipeOrientation(p)));
+        }
+
+        // === Flags ===
+        if (data.flag != null) {
+            flag = new Flag(data.flag.x, data.flag.y);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void loadFromJson(String mapPath) {
-        try {
-            FileHandle file = Gdx.files.internal(mapPath);
-            Json json = new Json();
-            MapData mapData = json.fromJson(MapData.class, file);
-
-            // === Ground blocks ===
-            for (MapData.TileDef tile : mapData.ground) {
-                for (int x = (int) tile.x; x < tile.x + tile.w; x += 50) {
-                    for (int y = (int) tile.y; y < tile.y + tile.h; y += 50) {
-                        groundBlocks.add(new Block(x, y, blockTexture));
-                    }
-                }
-            }
-
-            // === Death zones ===
-            for (MapData.RectDef rect : mapData.deathZones) {
-                deathZones.add(new Rectangle(rect.x, rect.y, rect.w, rect.h));
-            }
-
-            // === Pipe triggers ===
-            if (mapData.pipes != null) {
-                for (MapData.PipeDef p : mapData.pipes) {
-                    Pipe.Orientation orientation = Pipe.Orientation.DOWN;
-                    Texture selectedTexture = pipeDownTexture;
-                    if ("up".equalsIgnoreCase(p.orientation)) {
-                        orientation = Pipe.Orientation.UP;
-                        selectedTexture = pipeUpTexture;
-                    }
-                    pipeTriggers.add(new Pipe(p.x, p.y, selectedTexture, orientation));
-                }
-            }
-
-            // === Flags ===
-            if (mapData.flag != null) {
-                flag = new Flag(mapData.flag.x, mapData.flag.y, flagTexture);
-            }
+    // ---------------------------
+    // 브로드페이즈 구성 (로딩 시 1회)
+    // ---------------------------
+    private void buildBroadphase() {
+        for (Pipe p : pipeTriggers) {
+            Rectangle r = p.getBounds();
+            triggers.insert(p, r.x, r.y, r.width, r.height);
+        }
+        if (flag != null) {
+            Rectangle r = flag.getBound();
+            triggers.insert(flag, r.x, r.y, r.width, r.height);
+        }
+        for (Rectangle r : deathZones) {
+            triggers.insert(r, r.x, r.y, r.width, r.height);
+        }
+    }
 
-        } catch (Exception e) {
-            Gdx.app.error("Map", "Failed to load " + mapPath, e);
+    // ---------------------------
+    // 청크
+    // ---------------------------
+    /** 청크 하나의 지면: 격자 열 범위 [colStart, colEnd) + 충돌용 가로 구간 */
+    public static class Chunk {
+        public final int index;
+        public final TileGrid grid;
+        public final int colStart, colEnd;
+        final IntArray runs;  // (x, y, w) 세 개씩, (y, x) 순 — CollisionGeometry.mergeRuns 입력
+
+        Chunk(int index, TileGrid grid, int colStart, int colEnd, IntArray runs) {
+            this.index = index;
+            this.grid = grid;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+            this.runs = runs;
         }
+
+        public int getRunCount() { return runs.size / 3; }
+
+        public boolean isEmpty() { return colStart >= colEnd; }
     }
 
-    public Array<Block> getBlocks() { return groundBlocks; }
+    public static int chunkIndex(float x) {
+        return (int) Math.floor(x / CHUNK_SIZE);
+    }
+
+    /** 셀이 있는 첫 청크 (셀이 없으면 getLastChunk()보다 크다) */
+    public int getFirstChunk() {
+        return grid.cols == 0 ? 0 : chunkIndex(grid.originX);
+    }
+
+    public int getLastChunk() {
+        return grid.cols == 0 ? -1 : chunkIndex(grid.cellX(grid.cols - 1));
+    }
+
+    /**
+     * 청크 하나의 지면을 만든다. 셀은 좌하단 x가 속한 청크에 들어간다.
+     * 컴파일된 맵은 미리 계산된 가로 구간을 그대로 복사하고, 아니면 격자 열을 훑어 만든다.
+     */
+    public Chunk buildChunk(int index) {
+        int colStart = grid.colAtOrAfter(index * CHUNK_SIZE);
+        int colEnd = grid.colAtOrAfter((index + 1) * CHUNK_SIZE);
+        IntArray runs;
+        int slot = index - runFirstChunk;
+        if (chunkRunOffsets != null && slot >= 0 && slot < chunkRunOffsets.limit() - 1) {
+            int from = chunkRunOffsets.get(slot), to = chunkRunOffsets.get(slot + 1);
+            runs = new IntArray(to - from);
+            for (int i = from; i < to; i++) runs.add(runData.get(i));
+        } else {
+            IntArray cellX = new IntArray(), cellY = new IntArray();
+            grid.collectCells(colStart, colEnd, cellX, cellY); // (y, x) 순
+            runs = new IntArray();
+            CollisionGeometry.buildRuns(cellX, cellY, TileGrid.CELL_SIZE, runs);
+        }
+        return new Chunk(index, grid, colStart, colEnd, runs);
+    }
+
+    public TileGrid getGrid() { return grid; }
 
     public Array<Pipe> getPipes() { return pipeTriggers; }
 
     public Flag getFlag() { return flag; }
 
+    public Array<Rectangle> getDeathZones() { return deathZones; }
+
+    public Array<MapData.EntityDef> getEntities() { return entities; }
+
+    public Broadphase<Object> getTriggers() { return triggers; }
+
+    public int getLevel() { return level; }
+
     public boolean isUnderwater() {
         if (level == 2) return true;
         else return false;
@@ -115,6 +224,7 @@ public class Map {
 
         public static class TileDef {
             public float x, y, w, h;
+            public String type; // TileType 이름 (생략하면 ground)
         }
 
         public static class RectDef {
@@ -127,8 +237,10 @@ public class Map {
         }
 
         public static class EntityDef {
-            public String kind;
-            public float x, y, w, h;
+            public String kind;      // coin/enemy/platform (pipe/flag는 예전 표시용)
+            public float x, y, w, h; // w/h가 0이면 종류별 기본 크기
+            public float dx, dy;     // platform: 왕복 이동 범위
+            public float speed;      // enemy/platform: px/s (0이면 기본값)
         }
 
         public static class FlagDef {
@@ -0,0 +1,71 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Locale;
+
+/**
+ * 디자이너가 편집한 levelN.json → 런타임용 levelN.mlvl(MapFormat) 변환기.
+ * 결과는 --out 디렉터리(기본: JSON 옆)에 쓰인다. FileLevelSource는 JSON보다 새로운 .mlvl이 있으면 그것을 읽는다.
+ * Gradle compileMaps 태스크는 core/build/generated/maps/maps에 써서 리소스 경로로 패키징한다(assets/는 건드리지 않음).
+ * 먼저 모든 입력을 MapValidator로 검사하고, 하나라도 문제가 있으면 아무것도 쓰지 않고
+ * 종료 코드 1로 끝난다(Gradle compileMaps 태스크가 빌드를 실패시킨다).
+ *
+ * CLI:
+ *   MapCompiler [--maps assets/maps] [--out dir] [level1.json ...]
+ *   (파일을 주지 않으면 maps 디렉터리의 *.json 전부)
+ */
+public class MapCompiler {
+
+    /** JSON 한 개를 컴파일해서 옆에 쓰고, 쓴 파일을 돌려준다 */
+    public static FileHandle compile(FileHandle json) {
+        return compile(json, json.parent());
+    }
+
+    /** JSON 한 개를 컴파일해서 outDir에 쓰고, 쓴 파일을 돌려준다 */
+    public static FileHandle compile(FileHandle json, FileHandle outDir) {
+        Map.MapData data = Map.parse(json);
+        FileHandle out = outDir.child(json.nameWithoutExtension() + "." + MapFormat.EXTENSION);
+        MapFormat.save(data, out);
+        return out;
+    }
+
+    public static void main(String[] args) {
+        FileHandle maps = new FileHandle("assets/maps");
+        FileHandle outDir = null;
+        Array<FileHandle> inputs = new Array<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--maps".equals(args[i]) && i + 1 < args.length) {
+                maps = new FileHandle(args[++i]);
+                continue;
+            }
+            if ("--out".equals(args[i]) && i + 1 < args.length) {
+                outDir = new FileHandle(args[++i]);
+                continue;
+            }
+            inputs.add(new FileHandle(args[i]));
+        }
+        if (inputs.size == 0) inputs.addAll(maps.list(".json"));
+        if (inputs.size == 0) {
+            System.err.println("usage: MapCompiler [--maps dir] [--out dir] [level.json ...]");
+            System.exit(2);
+        }
+
+        Array<String> errors = new Array<>();
+        for (FileHandle json : inputs) errors.addAll(MapValidator.validate(json));
+        if (errors.size > 0) {
+            for (String e : errors) System.err.println("error: " + e);
+            System.err.println(errors.size + " map error(s); nothing written");
+            System.exit(1);
+        }
+
+        for (FileHandle json : inputs) {
+            long start = System.nanoTime();
+            FileHandle out = compile(json, outDir != null ? outDir : json.parent());
+            double ms = (System.nanoTime() - start) / 1e6;
+            System.out.println(String.format(Locale.ROOT, "%s -> %s (%d -> %d bytes, %.1f ms)",
+                json.name(), out.name(), json.length(), out.length(), ms));
+        }
+    }
+}
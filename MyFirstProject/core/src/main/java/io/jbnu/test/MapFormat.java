@@ -0,0 +1,389 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * 컴파일된 레벨 파일(.mlvl). JSON 대신 런타임이 바로 읽는 형식으로, MapCompiler가 만든다.
+ *
+ * <pre>
+ * 헤더: "MLVL"(4) | version(u16) | sectionCount(u16)
+ * 섹션: tag(4) | length(int32) | payload — 모르는 태그는 건너뛴다
+ *   GRID: originX, originY, cols, rows (int32) | cells[cols*rows] (u8 타일 ID, 간격은 TileGrid.CELL_SIZE)
+ *         칸은 청크 블록 순서(TileGrid: CHUNK_COLS 열씩, 블록 안은 행 우선) — 청크 하나가 연속된 바이트
+ *   LOOS: count(int32) | (x, y int32, cell u8)*  — 격자에서 어긋난 셀 (있을 때만)
+ *   DZON: count(int32) | (x, y, w, h float32)*
+ *   PIPE: count(int32) | (x, y float32, orientation u8)*
+ *   FLAG: x, y (float32)
+ *   ENTS: kindCount(u16) | kind(u16 길이 + UTF-8)* | count(int32) | (kind u16, x, y, w, h float32)*
+ *   EMOV: count(int32) | (dx, dy, speed float32)*   — ENTS와 같은 순서, 움직이는 엔티티가 있을 때만
+ *   CHNK: firstChunk, chunkCount (int32) | runOffset(int32)[chunkCount + 1] | (x, y, w int32)*
+ *         청크별 충돌용 가로 구간(CollisionGeometry.buildRuns 결과). 없으면 런타임이 격자에서 계산
+ * </pre>
+ * 빅엔디언. 읽기는 FileChannel 메모리 매핑 위에서 하며, 타일 격자(GRID)와 청크 구간(CHNK)은 복사하지 않고
+ * 매핑을 그대로 본다(힙에 레벨 길이만큼의 배열을 만들지 않음). 나머지 섹션은 객체로 읽는다.
+ * 리플렉션을 쓰지 않으므로 네이티브 이미지 빌드에서도 그대로 동작.
+ */
+public final class MapFormat {
+
+    public static final String EXTENSION = "mlvl";
+    private static final byte[] MAGIC = { 'M', 'L', 'V', 'L' };
+    private static final int VERSION = 2;   // 2: GRID 칸을 청크 블록 순서로
+
+    private static final int TAG_GRID = tag("GRID");
+    private static final int TAG_LOOSE = tag("LOOS");
+    private static final int TAG_DEATH = tag("DZON");
+    private static final int TAG_PIPES = tag("PIPE");
+    private static final int TAG_FLAG = tag("FLAG");
+    private static final int TAG_ENTITIES = tag("ENTS");
+    private static final int TAG_CHUNKS = tag("CHNK");
+    private static final int TAG_MOTION = tag("EMOV");
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private MapFormat() {}
+
+    /** 읽은 내용. Map 생성자가 그대로 받는다 */
+    public static class Compiled {
+        public TileGrid grid;
+        public final Array<Map.MapData.RectDef> deathZones = new Array<>();
+        public final Array<Map.MapData.PipeDef> pipes = new Array<>();
+        public final Array<Map.MapData.EntityDef> entities = new Array<>();
+        public Map.MapData.FlagDef flag;
+        // 선택: 청크별 가로 구간 (CHNK)
+        public int runFirstChunk;
+        public IntBuffer chunkRunOffsets;
+        public IntBuffer runData;
+    }
+
+    // ---------------------------
+    // 읽기
+    // ---------------------------
+    public static Compiled load(FileHandle file) {
+        try {
+            return read(map(file));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to read " + file.path(), e);
+        } catch (BufferUnderflowException e) {
+            throw new GdxRuntimeException("Truncated level file " + file.path(), e);
+        }
+    }
+
+    public static Compiled read(ByteBuffer buf) throws IOException {
+        for (byte m : MAGIC) {
+            if (buf.get() != m) throw new IOException("Not a compiled level");
+        }
+        int version = buf.getShort() & 0xFFFF;
+        if (version != VERSION) throw new IOException("Unsupported level version " + version);
+        int sections = buf.getShort() & 0xFFFF;
+
+        Compiled out = new Compiled();
+        IntArray looseX = new IntArray(0), looseY = new IntArray(0);
+        ByteArray looseCells = new ByteArray(0);
+        for (int s = 0; s < sections; s++) {
+            int tag = buf.getInt();
+            int length = buf.getInt();
+            int end = buf.position() + length;
+            if (tag == TAG_GRID) out.grid = readGrid(buf);
+            else if (tag == TAG_LOOSE) readLooseCells(buf, looseX, looseY, looseCells);
+            else if (tag == TAG_DEATH) readDeathZones(buf, out.deathZones);
+            else if (tag == TAG_PIPES) readPipes(buf, out.pipes);
+            else if (tag == TAG_FLAG) out.flag = readFlag(buf);
+            else if (tag == TAG_ENTITIES) readEntities(buf, out.entities);
+            else if (tag == TAG_CHUNKS) readChunks(buf, out);
+            else if (tag == TAG_MOTION) readMotion(buf, out.entities);
+            buf.position(end); // 모르는 섹션(이후 버전) 건너뛰기
+        }
+        if (out.grid == null) out.grid = TileGrid.empty();
+        if (looseX.size > 0) {
+            TileGrid g = out.grid;
+            out.grid = new TileGrid(g.originX, g.originY, g.cols, g.rows, g.cellData(), looseX, looseY, looseCells);
+        }
+        return out;
+    }
+
+    private static TileGrid readGrid(ByteBuffer buf) throws IOException {
+        int originX = buf.getInt(), originY = buf.getInt();
+        int cols = buf.getInt(), rows = buf.getInt();
+        if (cols < 0 || rows < 0 || (long) cols * rows > buf.remaining()
+            || cols % TileGrid.CHUNK_COLS != 0 || Math.floorMod(originX, TileGrid.CHUNK_WIDTH) != 0) {
+            throw new IOException("Malformed tile grid");
+        }
+        ByteBuffer cells = buf.slice();
+        cells.limit(cols * rows);
+        buf.position(buf.position() + cols * rows);
+        return new TileGrid(originX, originY, cols, rows, cells);
+    }
+
+    private static void readLooseCells(ByteBuffer buf, IntArray outX, IntArray outY, ByteArray outCells)
+        throws IOException {
+        int n = buf.getInt();
+        if (n < 0 || (long) n * 9 > buf.remaining()) throw new IOException("Malformed loose cells");
+        outX.ensureCapacity(n);
+        outY.ensureCapacity(n);
+        outCells.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            outX.add(buf.getInt());
+            outY.add(buf.getInt());
+            byte cell = buf.get();
+            if (cell == TileGrid.EMPTY) throw new IOException("Empty loose cell " + i);
+            outCells.add(cell);
+        }
+    }
+
+    private static void readDeathZones(ByteBuffer buf, Array<Map.MapData.RectDef> out) {
+        int n = buf.getInt();
+        out.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            Map.MapData.RectDef r = new Map.MapData.RectDef();
+            r.x = buf.getFloat(); r.y = buf.getFloat(); r.w = buf.getFloat(); r.h = buf.getFloat();
+            out.add(r);
+        }
+    }
+
+    private static void readPipes(ByteBuffer buf, Array<Map.MapData.PipeDef> out) throws IOException {
+        int n = buf.getInt();
+        out.ensureCapacity(n);
+        Pipe.Orientation[] orientations = Pipe.Orientation.values();
+        for (int i = 0; i < n; i++) {
+            Map.MapData.PipeDef p = new Map.MapData.PipeDef();
+            p.x = buf.getFloat(); p.y = buf.getFloat();
+            int orientation = buf.get();
+            if (orientation < 0 || orientation >= orientations.length) {
+                throw new IOException("Malformed pipe orientation " + orientation);
+            }
+            p.orientation = orientations[orientation].name();
+            out.add(p);
+        }
+    }
+
+    private static Map.MapData.FlagDef readFlag(ByteBuffer buf) {
+        Map.MapData.FlagDef f = new Map.MapData.FlagDef();
+        f.x = buf.getFloat(); f.y = buf.getFloat();
+        return f;
+    }
+
+    private static void readEntities(ByteBuffer buf, Array<Map.MapData.EntityDef> out) throws IOException {
+        String[] kinds = new String[buf.getShort() & 0xFFFF];
+        for (int k = 0; k < kinds.length; k++) {
+            byte[] utf = new byte[buf.getShort() & 0xFFFF];
+            buf.get(utf);
+            kinds[k] = new String(utf, UTF8); // 종류별로 한 번만 만든다
+        }
+        int n = buf.getInt();
+        out.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            Map.MapData.EntityDef e = new Map.MapData.EntityDef();
+            int kind = buf.getShort() & 0xFFFF;
+            if (kind >= kinds.length) throw new IOException("Malformed entity kind index " + kind);
+            e.kind = kinds[kind];
+            e.x = buf.getFloat(); e.y = buf.getFloat(); e.w = buf.getFloat(); e.h = buf.getFloat();
+            out.add(e);
+        }
+    }
+
+    /** ENTS 다음에 온다(쓰기 순서). 수가 맞지 않으면 손상으로 본다 */
+    private static void readMotion(ByteBuffer buf, Array<Map.MapData.EntityDef> entities) throws IOException {
+        int n = buf.getInt();
+        if (n != entities.size) throw new IOException("Entity motion count mismatch");
+        for (int i = 0; i < n; i++) {
+            Map.MapData.EntityDef e = entities.get(i);
+            e.dx = buf.getFloat(); e.dy = buf.getFloat(); e.speed = buf.getFloat();
+        }
+    }
+
+    private static void readChunks(ByteBuffer buf, Compiled out) throws IOException {
+        out.runFirstChunk = buf.getInt();
+        int count = buf.getInt();
+        if (count < 0 || (long) (count + 1) * 4 > buf.remaining()) throw new IOException("Malformed chunk table");
+        IntBuffer offsets = view(buf, count + 1);
+        if (offsets.get(0) != 0) throw new IOException("Malformed chunk table");
+        for (int i = 0; i < count; i++) {
+            if (offsets.get(i) > offsets.get(i + 1)) throw new IOException("Malformed chunk table");
+        }
+        int total = offsets.get(count);
+        if ((long) total * 4 > buf.remaining()) throw new IOException("Malformed chunk table");
+        out.chunkRunOffsets = offsets;
+        out.runData = view(buf, total);
+    }
+
+    /** buf 현재 위치의 int n개를 복사 없이 보는 버퍼 (buf는 그 뒤로 넘어간다) */
+    private static IntBuffer view(ByteBuffer buf, int n) {
+        ByteBuffer slice = buf.slice();
+        slice.limit(n * 4);
+        buf.position(buf.position() + n * 4);
+        return slice.asIntBuffer();
+    }
+
+    /**
+     * 로컬/내부 파일은 메모리 매핑, 클래스패스 등 실제 파일이 없는 경우는 한 번에 읽어 감싼다.
+     * 매핑은 채널을 닫은 뒤에도 유효하다.
+     */
+    static ByteBuffer map(FileHandle file) throws IOException {
+        if (file.type() == Files.FileType.Classpath || !file.file().isFile()) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file.file(), "r");
+            FileChannel channel = raf.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            StreamUtils.closeQuietly(raf);
+        }
+    }
+
+    // ---------------------------
+    // 쓰기 (MapCompiler)
+    // ---------------------------
+    public static void save(Map.MapData data, FileHandle file) {
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(file.write(false));
+            write(data, out);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Failed to write " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static void write(Map.MapData data, OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        Map map = new Map(0, data);
+        TileGrid grid = map.getGrid();
+        boolean motion = false;
+        if (data.entities != null) {
+            for (Map.MapData.EntityDef e : data.entities) motion |= e.dx != 0f || e.dy != 0f || e.speed != 0f;
+        }
+        int sections = 2 + (grid.looseCount() > 0 ? 1 : 0) + (data.deathZones != null ? 1 : 0) + (data.pipes != null ? 1 : 0)
+            + (data.flag != null ? 1 : 0) + (data.entities != null ? 1 : 0) + (motion ? 1 : 0);
+        out.write(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(sections);
+
+        byte[] cells = new byte[grid.cols * grid.rows];
+        grid.cellData().get(cells);
+        beginSection(out, TAG_GRID, 16 + cells.length);
+        out.writeInt(grid.originX);
+        out.writeInt(grid.originY);
+        out.writeInt(grid.cols);
+        out.writeInt(grid.rows);
+        out.write(cells);
+
+        if (grid.looseCount() > 0) {
+            beginSection(out, TAG_LOOSE, 4 + grid.looseCount() * 9);
+            out.writeInt(grid.looseCount());
+            for (int i = 0; i < grid.looseCount(); i++) {
+                out.writeInt(grid.looseX(i));
+                out.writeInt(grid.looseY(i));
+                out.writeByte(grid.looseCell(i));
+            }
+        }
+
+        if (data.deathZones != null) {
+            beginSection(out, TAG_DEATH, 4 + data.deathZones.size * 16);
+            out.writeInt(data.deathZones.size);
+            for (Map.MapData.RectDef r : data.deathZones) {
+                out.writeFloat(r.x); out.writeFloat(r.y); out.writeFloat(r.w); out.writeFloat(r.h);
+            }
+        }
+
+        if (data.pipes != null) {
+            beginSection(out, TAG_PIPES, 4 + data.pipes.size * 9);
+            out.writeInt(data.pipes.size);
+            for (Map.MapData.PipeDef p : data.pipes) {
+                out.writeFloat(p.x); out.writeFloat(p.y);
+                out.writeByte(Map.pipeOrientation(p).ordinal());
+            }
+        }
+
+        if (data.flag != null) {
+            beginSection(out, TAG_FLAG, 8);
+            out.writeFloat(data.flag.x);
+            out.writeFloat(data.flag.y);
+        }
+
+        if (data.entities != null) {
+            ObjectIntMap<String> kindIds = new ObjectIntMap<>();
+            Array<byte[]> kindUtf = new Array<>();
+            int length = 2 + 4 + data.entities.size * 18;
+            for (Map.MapData.EntityDef e : data.entities) {
+                String kind = e.kind != null ? e.kind : "";
+                if (kindIds.containsKey(kind)) continue;
+                kindIds.put(kind, kindUtf.size);
+                byte[] utf = kind.getBytes(UTF8);
+                kindUtf.add(utf);
+                length += 2 + utf.length;
+            }
+            beginSection(out, TAG_ENTITIES, length);
+            out.writeShort(kindUtf.size);
+            for (byte[] utf : kindUtf) {
+                out.writeShort(utf.length);
+                out.write(utf);
+            }
+            out.writeInt(data.entities.size);
+            for (Map.MapData.EntityDef e : data.entities) {
+                out.writeShort(kindIds.get(e.kind != null ? e.kind : "", 0));
+                out.writeFloat(e.x); out.writeFloat(e.y); out.writeFloat(e.w); out.writeFloat(e.h);
+            }
+        }
+        if (motion) {
+            beginSection(out, TAG_MOTION, 4 + data.entities.size * 12);
+            out.writeInt(data.entities.size);
+            for (Map.MapData.EntityDef e : data.entities) {
+                out.writeFloat(e.dx); out.writeFloat(e.dy); out.writeFloat(e.speed);
+            }
+        }
+
+        // 청크별 가로 구간: 런타임은 격자를 훑지 않고 그대로 복사한다
+        int first = map.getFirstChunk();
+        int count = Math.max(0, map.getLastChunk() - first + 1);
+        Array<Map.Chunk> chunks = new Array<>(count);
+        int totalInts = 0;
+        for (int c = 0; c < count; c++) {
+            Map.Chunk chunk = map.buildChunk(first + c);
+            chunks.add(chunk);
+            totalInts += chunk.runs.size;
+        }
+        beginSection(out, TAG_CHUNKS, 8 + (count + 1) * 4 + totalInts * 4);
+        out.writeInt(first);
+        out.writeInt(count);
+        int offset = 0;
+        out.writeInt(offset);
+        for (Map.Chunk chunk : chunks) {
+            offset += chunk.runs.size;
+            out.writeInt(offset);
+        }
+        for (Map.Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.runs.size; i++) out.writeInt(chunk.runs.get(i));
+        }
+        out.flush();
+    }
+
+    private static void beginSection(DataOutputStream out, int tag, int length) throws IOException {
+        out.writeInt(tag);
+        out.writeInt(length);
+    }
+
+    private static int tag(String s) {
+        return (s.charAt(0) << 24) | (s.charAt(1) << 16) | (s.charAt(2) << 8) | s.charAt(3);
+    }
+}
@@ -0,0 +1,240 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * 맵 JSON 검사기 (MapCompiler가 빌드 때 부른다). 찾은 문제를 "파일: 내용" 문자열로 돌려준다.
+ * - 지면 타일이 서로 겹침 (격자로 펼치면 조용히 합쳐져서 편집 실수가 숨는다)
+ * - 타일 type을 모름 (TileType)
+ * - 파이프 방향이 up/down이 아님 (런타임은 모르는 값을 DOWN으로 취급)
+ * - 엔티티 kind를 모름
+ * - 타일 원점이 정수 픽셀이 아님 (격자 밖 셀도 정수 좌표로 저장한다)
+ * - 깃발이 시작 위치에서 닿을 수 없음 (지상 레벨만)
+ *
+ * 도달 검사는 보수적인 근사다: 발판(위가 비어 있는 셀 윗면)을 점프 높이/체공 거리로 잇고
+ * 벽/천장은 무시한다. 그래서 여기서 "닿을 수 없다"고 하면 실제로도 닿을 수 없다.
+ */
+public final class MapValidator {
+
+    /** 맵에 놓을 수 있는 엔티티 종류 (EntityWorld가 만드는 것 + 예전 표시용 pipe/flag) */
+    static final Array<String> KNOWN_ENTITY_KINDS = Array.with("coin", "enemy", "platform", "pipe", "flag");
+
+    // 시작 위치(GameWorld와 같음)와 점프 능력(GameCharacter 기본값)
+    private static final float SPAWN_X = GameWorld.SPAWN_X, SPAWN_Y = GameWorld.SPAWN_Y;
+    private static final float PLAYER_W = GameWorld.DEFAULT_PLAYER_WIDTH;
+    private static final float PLAYER_H = GameWorld.DEFAULT_PLAYER_HEIGHT;
+    private static final GameCharacter DEFAULTS = new GameCharacter(new Vector2(), PLAYER_W, PLAYER_H);
+    private static final float GRAVITY = -GameWorld.WORLD_GRAVITY;
+
+    private MapValidator() {}
+
+    /** 파일 이름(levelN.json)에서 레벨 번호를 얻어 검사 */
+    public static Array<String> validate(FileHandle json) {
+        Array<String> errors = new Array<>();
+        Map.MapData data;
+        try {
+            data = Map.parse(json);
+        } catch (RuntimeException e) {
+            errors.add(json.name() + ": " + e.getMessage());
+            return errors;
+        }
+        validate(json.name(), levelOf(json), data, errors);
+        return errors;
+    }
+
+    public static void validate(String name, int level, Map.MapData data, Array<String> errors) {
+        int before = errors.size;
+        checkOverlaps(name, data.ground, errors);
+        if (data.ground != null) {
+            for (Map.MapData.TileDef t : data.ground) {
+                if (TileType.byName(t.type) == null) {
+                    errors.add(format(name, "tile at (%.0f, %.0f) has unknown type '%s'", t.x, t.y, t.type));
+                }
+                if (t.x != (int) t.x || t.y != (int) t.y) {
+                    errors.add(format(name, "tile at (%s, %s) is not on a whole pixel", t.x, t.y));
+                }
+            }
+        }
+        if (data.pipes != null) {
+            for (Map.MapData.PipeDef p : data.pipes) {
+                if (!"up".equalsIgnoreCase(p.orientation) && !"down".equalsIgnoreCase(p.orientation)) {
+                    errors.add(format(name, "pipe at (%.0f, %.0f) has unknown orientation '%s' (expected up/down)",
+                        p.x, p.y, p.orientation));
+                }
+            }
+        }
+        if (data.entities != null) {
+            for (Map.MapData.EntityDef e : data.entities) {
+                if (!KNOWN_ENTITY_KINDS.contains(e.kind, false)) {
+                    errors.add(format(name, "entity at (%.0f, %.0f) has unknown kind '%s' (known: %s)",
+                        e.x, e.y, e.kind, KNOWN_ENTITY_KINDS.toString(", ")));
+                }
+            }
+        }
+        if (data.flag != null && errors.size == before) { // 깨진 타일이면 격자를 만들 수 없다
+            Map map = new Map(level, data);
+            if (!map.isUnderwater()) checkFlagReachable(name, map, errors);
+        }
+    }
+
+    /** levelN.xxx → N (숫자가 없으면 0) */
+    static int levelOf(FileHandle file) {
+        String digits = file.nameWithoutExtension().replaceAll("\\D+", "");
+        if (digits.isEmpty()) return 0;
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // ---------------------------
+    // 겹친 타일
+    // ---------------------------
+    private static void checkOverlaps(String name, Array<Map.MapData.TileDef> ground, Array<String> errors) {
+        if (ground == null || ground.size < 2) return;
+        Map.MapData.TileDef[] tiles = ground.toArray(Map.MapData.TileDef.class);
+        Arrays.sort(tiles, new Comparator<Map.MapData.TileDef>() {
+            @Override public int compare(Map.MapData.TileDef a, Map.MapData.TileDef b) {
+                return Float.compare(a.x, b.x);
+            }
+        });
+        // x 순으로 훑으며 x 범위가 겹치는 앞 타일들만 비교 (보통 몇 개)
+        for (int i = 0; i < tiles.length; i++) {
+            Map.MapData.TileDef a = tiles[i];
+            for (int j = i + 1; j < tiles.length && tiles[j].x < a.x + a.w; j++) {
+                Map.MapData.TileDef b = tiles[j];
+                if (b.y < a.y + a.h && a.y < b.y + b.h) {
+                    errors.add(format(name, "ground tiles overlap: (%.0f, %.0f, %.0fx%.0f) and (%.0f, %.0f, %.0fx%.0f)",
+                        a.x, a.y, a.w, a.h, b.x, b.y, b.w, b.h));
+                }
+            }
+        }
+    }
+
+    // ---------------------------
+    // 깃발 도달
+    // ---------------------------
+    private static void checkFlagReachable(String name, Map map, Array<String> errors) {
+        Array<Rectangle> ledges = standableLedges(map);
+        int start = landingLedge(ledges, SPAWN_X, SPAWN_Y);
+        if (start < 0) {
+            errors.add(format(name, "spawn (%.0f, %.0f) has no ground below it", SPAWN_X, SPAWN_Y));
+            return;
+        }
+
+        // 발판 그래프 너비 우선 탐색
+        boolean[] reached = new boolean[ledges.size];
+        IntArray queue = new IntArray();
+        reached[start] = true;
+        queue.add(start);
+        Rectangle goal = map.getFlag().getBound();
+        for (int head = 0; head < queue.size; head++) {
+            Rectangle from = ledges.get(queue.get(head));
+            if (canTouch(from, goal)) return;
+            for (int k = 0; k < ledges.size; k++) {
+                if (!reached[k] && canJump(from, ledges.get(k))) {
+                    reached[k] = true;
+                    queue.add(k);
+                }
+            }
+        }
+        errors.add(format(name, "flag at (%.0f, %.0f) is unreachable from spawn (%.0f, %.0f) "
+            + "(max jump %.0f px)", goal.x, goal.y, SPAWN_X, SPAWN_Y, jumpHeight()));
+    }
+
+    /**
+     * 설 수 있는 윗면: (x, 윗면 y, 폭, 0) 사각형.
+     * 셀 윗면에서 바로 위 셀에 덮인 부분과 죽음 영역에 닿는 부분을 뺀다.
+     */
+    static Array<Rectangle> standableLedges(Map map) {
+        IntArray xs = new IntArray(), ys = new IntArray(), runs = new IntArray();
+        map.getGrid().collectCells(xs, ys); // 격자 밖 셀 포함, (y, x) 순
+        CollisionGeometry.buildRuns(xs, ys, TileGrid.CELL_SIZE, runs);
+
+        Array<Rectangle> ledges = new Array<>();
+        Array<Rectangle> pieces = new Array<>();
+        int n = runs.size / 3;
+        for (int i = 0; i < n; i++) {
+            int top = runs.get(i * 3 + 1) + TileGrid.CELL_SIZE;
+            pieces.clear();
+            pieces.add(new Rectangle(runs.get(i * 3), top, runs.get(i * 3 + 2), 0));
+            // 윗면에 걸친 행의 구간 (runs는 y 순이라 앞쪽만 보면 된다)
+            for (int k = i + 1; k < n && runs.get(k * 3 + 1) <= top; k++) {
+                int x = runs.get(k * 3);
+                subtract(pieces, x, x + runs.get(k * 3 + 2));
+            }
+            for (Rectangle dz : map.getDeathZones()) {
+                // 윗면에 선 몸이 영역과 겹치면 죽는다 (영역 윗변에 딱 닿는 것은 안전)
+                if (dz.y <= top && top < dz.y + dz.height) subtract(pieces, dz.x, dz.x + dz.width);
+            }
+            for (int p = 0; p < pieces.size; p++) {
+                if (pieces.get(p).width > 0) ledges.add(pieces.get(p));
+            }
+        }
+        return ledges;
+    }
+
+    /** pieces에서 [x0, x1) 가로 범위를 잘라낸다 */
+    private static void subtract(Array<Rectangle> pieces, float x0, float x1) {
+        for (int p = pieces.size - 1; p >= 0; p--) {
+            Rectangle r = pieces.get(p);
+            float r0 = r.x, r1 = r.x + r.width;
+            if (x1 <= r0 || r1 <= x0) continue;
+            pieces.removeIndex(p);
+            if (r0 < x0) pieces.add(new Rectangle(r0, r.y, x0 - r0, 0));
+            if (x1 < r1) pieces.add(new Rectangle(x1, r.y, r1 - x1, 0));
+        }
+    }
+
+    /** (x, y)에서 떨어졌을 때 처음 닿는 발판 (없으면 -1) */
+    private static int landingLedge(Array<Rectangle> ledges, float x, float y) {
+        int best = -1;
+        for (int i = 0; i < ledges.size; i++) {
+            Rectangle l = ledges.get(i);
+            if (l.y > y || l.x >= x + PLAYER_W || x >= l.x + l.width) continue;
+            if (best < 0 || l.y > ledges.get(best).y) best = i;
+        }
+        return best;
+    }
+
+    /** from 위에서 뛰어 to에 올라설 수 있나 (수평 속도는 체공 내내 최대라고 본다) */
+    private static boolean canJump(Rectangle from, Rectangle to) {
+        float rise = to.y - from.y;
+        if (rise > jumpHeight()) return false;
+        float gap = Math.max(0f, Math.max(to.x - (from.x + from.width), from.x - (to.x + to.width)));
+        return gap - PLAYER_W <= reach(rise);
+    }
+
+    /** from 위에서 점프해 몸이 목표 사각형에 닿을 수 있나 */
+    private static boolean canTouch(Rectangle from, Rectangle goal) {
+        float low = from.y, high = from.y + jumpHeight() + PLAYER_H;
+        if (goal.y > high || goal.y + goal.height < low) return false;
+        float gap = Math.max(0f, Math.max(goal.x - (from.x + from.width), from.x - (goal.x + goal.width)));
+        return gap - PLAYER_W <= reach(Math.max(0f, goal.y - from.y - PLAYER_H));
+    }
+
+    private static float jumpHeight() {
+        float v = DEFAULTS.jumpVelocity;
+        return v * v / (2f * GRAVITY);
+    }
+
+    /** rise만큼 높은 곳에 내려앉을 때까지 수평 이동 거리 */
+    private static float reach(float rise) {
+        float v = DEFAULTS.jumpVelocity;
+        float airtime = (v + (float) Math.sqrt(Math.max(0f, v * v - 2f * GRAVITY * rise))) / GRAVITY;
+        return DEFAULTS.moveSpeed * airtime;
+    }
+
+    private static String format(String name, String message, Object... args) {
+        return name + ": " + String.format(Locale.ROOT, message, args);
+    }
+}
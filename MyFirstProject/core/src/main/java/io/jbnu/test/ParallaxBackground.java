@@ -0,0 +1,187 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.zip.Inflater;
+
+/**
+ * 여러 겹의 패럴랙스 배경을 조각(BackgroundTiles) 단위로 그린다.
+ *
+ * - 레이어마다 스크롤 배율이 따로 있다 (0 = 고정, 1 = 카메라와 같이 이동)
+ * - 이미지는 가로로 반복되고, 세로는 시야 높이에 맞춰 늘린다(예전 단일 텍스처 배경과 같은 모양)
+ * - 시야에 걸치는 조각만 텍스처로 올리고, 나머지는 LRU로 내려 텍스처 풀에 돌려준다
+ *   → 상주 텍스처 수는 이미지 크기가 아니라 시야 폭으로 정해진다
+ * - 조각 업로드(압축 해제 + glTexSubImage)는 프레임당 UPLOAD_BUDGET_NANOS 안에서만 한다.
+ *   예산을 넘으면 남은 조각은 이번 프레임에 건너뛰고 다음 프레임에 이어서 올린다(최소 1개는 올림)
+ */
+public class ParallaxBackground implements Disposable {
+
+    /** 레이어 정의: 이미지 + 스크롤 배율 */
+    public static class Layer {
+        public final BackgroundTiles tiles;
+        public final float scroll;
+
+        public Layer(BackgroundTiles tiles, float scroll) {
+            this.tiles = tiles;
+            this.scroll = scroll;
+        }
+    }
+
+    /** 시야 밖 여분 열 (카메라가 움직여도 바로 업로드하지 않도록) */
+    private static final int SLACK_COLUMNS = 1;
+    /** 프레임당 조각 업로드에 쓸 수 있는 시간 (레벨 교체 직후 한꺼번에 올리며 프레임이 튀지 않도록) */
+    public static final long UPLOAD_BUDGET_NANOS = 4000000L;
+
+    private final Array<Layer> layers = new Array<>();
+
+    // 상주 조각: key = (layer << 24) | tileIndex, access-order LRU
+    private final LinkedHashMap<Integer, Texture> resident = new LinkedHashMap<>(64, 0.75f, true);
+    private final Array<Texture> freeTextures = new Array<>();
+    private int capacity = 0;   // 상주 조각 수 한도 (시야 폭 기준)
+
+    // 업로드 작업 버퍼
+    private final Inflater inflater = new Inflater();
+    private final byte[] scratch = new byte[BackgroundTiles.TILE * BackgroundTiles.TILE * 4];
+    private Pixmap uploadPixmap;
+    private int uploadsThisFrame;
+    private int deferredThisFrame;
+    private long uploadNanosThisFrame;
+
+    /** 레이어 교체 (레벨 변경). 기존 조각 텍스처는 풀로 돌아간다 */
+    public void setLayers(Array<Layer> next) {
+        for (Texture t : resident.values()) freeTextures.add(t);
+        resident.clear();
+        layers.clear();
+        if (next != null) layers.addAll(next);
+    }
+
+    public boolean hasLayers() { return layers.size > 0; }
+
+    /** 뒤 레이어부터 그림 (batch.begin() 상태에서 호출) */
+    public void draw(SpriteBatch batch, OrthographicCamera camera) {
+        float viewW = camera.viewportWidth * camera.zoom;
+        float viewH = camera.viewportHeight * camera.zoom;
+        float left = camera.position.x - viewW * 0.5f;
+        float bottom = camera.position.y - viewH * 0.5f;
+        float top = bottom + viewH;
+        ensureCapacity(viewW);
+        uploadsThisFrame = 0;
+        deferredThisFrame = 0;
+        uploadNanosThisFrame = 0;
+
+        final float T = BackgroundTiles.TILE;
+        for (int li = 0; li < layers.size; li++) {
+            Layer layer = layers.get(li);
+            BackgroundTiles tiles = layer.tiles;
+            float scroll = camera.position.x * layer.scroll;
+            float scaleY = viewH / tiles.height;
+
+            // 이미지 가로 좌표 [scroll, scroll + viewW)를 조각 경계 단위로 훑는다 (폭으로 반복)
+            float x = scroll;
+            float end = scroll + viewW;
+            while (x < end) {
+                float wrapped = ((x % tiles.width) + tiles.width) % tiles.width;
+                int col = Math.min(tiles.cols - 1, (int) (wrapped / T));
+                float offsetInTile = wrapped - col * T;
+                int tw = tiles.tileWidth(col);
+                float drawX = left + (x - scroll) - offsetInTile;
+
+                for (int row = 0; row < tiles.rows; row++) {
+                    Texture tex = acquire(li, tiles, col, row);
+                    if (tex == null) continue; // 예산 초과: 다음 프레임에 올린다
+                    int th = tiles.tileHeight(row);
+                    float h = th * scaleY;
+                    float y = top - (row * T) * scaleY - h;
+                    // 텍스처 0행(이미지 위쪽)이 화면 위로 오도록 v를 뒤집어 그린다
+                    batch.draw(tex, drawX, y, tw, h, 0f, th / T, tw / T, 0f);
+                }
+                x += tw - offsetInTile;
+            }
+        }
+        trimPool();
+    }
+
+    /**
+     * 조각 텍스처 (없으면 풀에서 꺼내 업로드, 용량을 넘으면 가장 오래 안 쓴 조각을 내림).
+     * 이번 프레임 업로드 예산을 다 썼으면 null
+     */
+    private Texture acquire(int layerIndex, BackgroundTiles tiles, int col, int row) {
+        Integer key = (layerIndex << 24) | (row * tiles.cols + col);
+        Texture tex = resident.get(key);
+        if (tex != null) return tex;
+        if (uploadsThisFrame > 0 && uploadNanosThisFrame >= UPLOAD_BUDGET_NANOS) {
+            deferredThisFrame++;
+            return null;
+        }
+        long start = TimeUtils.nanoTime();
+
+        while (resident.size() >= capacity && !resident.isEmpty()) {
+            Iterator<java.util.Map.Entry<Integer, Texture>> it = resident.entrySet().iterator();
+            freeTextures.add(it.next().getValue());
+            it.remove();
+        }
+        tex = freeTextures.size > 0 ? freeTextures.pop()
+            : new Texture(BackgroundTiles.TILE, BackgroundTiles.TILE, Pixmap.Format.RGBA8888);
+        if (uploadPixmap == null) {
+            uploadPixmap = new Pixmap(BackgroundTiles.TILE, BackgroundTiles.TILE, Pixmap.Format.RGBA8888);
+        }
+        tiles.unpack(col, row, inflater, scratch, uploadPixmap);
+        tex.draw(uploadPixmap, 0, 0);
+        resident.put(key, tex);
+        uploadsThisFrame++;
+        uploadNanosThisFrame += TimeUtils.nanoTime() - start;
+        return tex;
+    }
+
+    /** 레이어마다 (시야 폭 / TILE + 여분) 열 x 전체 행. 줌에 따라 매 프레임 다시 정한다 */
+    private void ensureCapacity(float viewW) {
+        int needed = 0;
+        int columns = (int) Math.ceil(viewW / BackgroundTiles.TILE) + 1 + SLACK_COLUMNS * 2;
+        for (int i = 0; i < layers.size; i++) {
+            BackgroundTiles tiles = layers.get(i).tiles;
+            needed += Math.min(columns, tiles.cols) * tiles.rows;
+        }
+        capacity = needed;
+    }
+
+    /** 용량을 넘는 상주 조각과 여분 풀 텍스처를 내린다 (화면 폭이 줄었을 때) */
+    private void trimPool() {
+        while (resident.size() > capacity) {
+            Iterator<java.util.Map.Entry<Integer, Texture>> it = resident.entrySet().iterator();
+            freeTextures.add(it.next().getValue());
+            it.remove();
+        }
+        while (freeTextures.size > capacity) freeTextures.pop().dispose();
+    }
+
+    // ---------------------------
+    // 통계
+    // ---------------------------
+    public int getResidentTiles()   { return resident.size(); }
+    public int getUploadsThisFrame() { return uploadsThisFrame; }
+    /** 예산 초과로 이번 프레임에 그리지 못한 조각 수 */
+    public int getDeferredThisFrame() { return deferredThisFrame; }
+    /** 상주 조각 텍스처 메모리(바이트, 풀에 남은 것 포함) */
+    public long getTextureBytes() {
+        long tileBytes = (long) BackgroundTiles.TILE * BackgroundTiles.TILE * 4L;
+        return (resident.size() + freeTextures.size) * tileBytes;
+    }
+
+    @Override
+    public void dispose() {
+        for (Texture t : resident.values()) t.dispose();
+        resident.clear();
+        for (Texture t : freeTextures) t.dispose();
+        freeTextures.clear();
+        if (uploadPixmap != null) { uploadPixmap.dispose(); uploadPixmap = null; }
+        inflater.end();
+    }
+}
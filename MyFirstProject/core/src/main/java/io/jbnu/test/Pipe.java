@@ -1,35 +1,34 @@
 // File: Pipe.java
 package io.jbnu.test;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 
 public class Pipe {
     public enum Orientation { DOWN, UP }
 
-    private final Sprite sprite;
+    // pipe.png / pipedown.png 원본 크기
+    public static final float WIDTH = 32f;
+    public static final float HEIGHT = 32f;
+
+    private final float x;
+    private final float y;
     private final Rectangle bounds;
     private final Orientation orientation;
 
-    public Pipe(float x, float y, Texture pipeTexture, Orientation orientation) {
-        this.sprite = new Sprite(pipeTexture);
-        this.sprite.setPosition(x, y);
-        this.bounds = new Rectangle(x, y, sprite.getWidth(), sprite.getHeight());
+    public Pipe(float x, float y, Orientation orientation) {
+        this.x = x;
+        this.y = y;
+        this.bounds = new Rectangle(x, y, WIDTH, HEIGHT);
         this.orientation = orientation;
     }
 
-    public void draw(SpriteBatch batch) { sprite.draw(batch); }
-
     public Rectangle getBounds() {
-        bounds.setPosition(sprite.getX(), sprite.getY());
-        bounds.setSize(sprite.getWidth(), sprite.getHeight());
+        bounds.set(x, y, WIDTH, HEIGHT);
         return bounds;
     }
 
-    public float getX() { return sprite.getX(); }
-    public float getY() { return sprite.getY(); }
+    public float getX() { return x; }
+    public float getY() { return y; }
 
     public Orientation getOrientation() { return orientation; }
 }
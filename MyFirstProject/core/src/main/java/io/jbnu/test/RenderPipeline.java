@@ -0,0 +1,139 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * 프레임 렌더링을 패스 목록으로 선언하고 한 번에 실행하는 파이프라인.
+ *
+ * - 각 패스는 타깃(SCENE/SCREEN)과 셰이더를 선언한다
+ * - 타깃과 셰이더가 같은 연속 패스는 batch.begin/end 한 쌍으로 합친다
+ * - isEnabled()가 false인 패스(페이드 0, 후처리 꺼짐 등)는 건너뛴다
+ * - SCENE 패스는 장면 타깃(후처리 FBO)이 켜져 있으면 그곳에, 아니면 바로 화면에 그린다
+ *
+ * 투영 행렬은 호출 측이 render() 전에 batch에 설정한다.
+ */
+public class RenderPipeline {
+
+    public enum Target { SCENE, SCREEN }
+
+    /** SCENE 패스를 오프스크린으로 모으는 대상 (CameraFxManager) */
+    public interface SceneTarget {
+        boolean isActive();
+        void beginScene();
+        void endScene();
+    }
+
+    public static abstract class Pass {
+        public final String name;
+        public final Target target;
+        int statsPhase = -1;
+
+        protected Pass(String name, Target target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        /** null이면 SpriteBatch 기본 셰이더 */
+        public ShaderProgram shader() { return null; }
+
+        /** 이번 프레임에 할 일이 없으면 false */
+        public boolean isEnabled() { return true; }
+
+        /** true면 batch.begin() 밖에서 실행 (자체적으로 begin/end 하는 풀스크린 패스) */
+        public boolean isBatchless() { return false; }
+
+        public abstract void draw(SpriteBatch batch);
+    }
+
+    private final SpriteBatch batch;
+    private final Array<Pass> passes = new Array<>();
+    private SceneTarget sceneTarget;
+    private RenderStats stats;   // null이면 패스 시간 측정 안 함
+
+    // --- 통계 (마지막 render 기준) ---
+    private int batchGroups;
+    private int executedPasses;
+
+    public RenderPipeline(SpriteBatch batch) {
+        this.batch = batch;
+    }
+
+    public RenderPipeline add(Pass pass) {
+        passes.add(pass);
+        if (stats != null) pass.statsPhase = stats.phase(pass.name);
+        return this;
+    }
+
+    /** 패스마다 RenderStats 단계(이름 = 패스 이름)로 draw 시간을 잰다 */
+    public void setStats(RenderStats stats) {
+        this.stats = stats;
+        for (int i = 0; i < passes.size; i++) {
+            passes.get(i).statsPhase = stats != null ? stats.phase(passes.get(i).name) : -1;
+        }
+    }
+
+    public void setSceneTarget(SceneTarget target) {
+        this.sceneTarget = target;
+    }
+
+    public void render() {
+        batchGroups = 0;
+        executedPasses = 0;
+
+        boolean offscreen = sceneTarget != null && sceneTarget.isActive();
+        boolean inScene = false;
+        boolean batching = false;
+        ShaderProgram current = null;
+
+        for (int i = 0; i < passes.size; i++) {
+            Pass pass = passes.get(i);
+            if (!pass.isEnabled()) continue;
+
+            // 타깃 전환: SCENE 시작 → FBO 바인딩, SCREEN 진입 → FBO 해제
+            if (pass.target == Target.SCENE && offscreen && !inScene) {
+                if (batching) { batch.end(); batching = false; }
+                sceneTarget.beginScene();
+                inScene = true;
+            } else if (pass.target == Target.SCREEN && inScene) {
+                if (batching) { batch.end(); batching = false; }
+                sceneTarget.endScene();
+                inScene = false;
+            }
+
+            if (pass.isBatchless()) {
+                if (batching) { batch.end(); batching = false; }
+                drawTimed(pass);
+                executedPasses++;
+                continue;
+            }
+
+            ShaderProgram shader = pass.shader();
+            if (batching && shader != current) { batch.end(); batching = false; }
+            if (!batching) {
+                batch.setShader(shader);
+                batch.begin();
+                batching = true;
+                current = shader;
+                batchGroups++;
+            }
+            drawTimed(pass);
+            executedPasses++;
+        }
+
+        if (batching) batch.end();
+        if (inScene) sceneTarget.endScene();
+        batch.setShader(null);
+    }
+
+    private void drawTimed(Pass pass) {
+        if (stats == null) { pass.draw(batch); return; }
+        stats.begin(pass.statsPhase);
+        pass.draw(batch);
+        stats.end(pass.statsPhase);
+    }
+
+    public int getBatchGroups() { return batchGroups; }
+    public int getExecutedPasses() { return executedPasses; }
+}
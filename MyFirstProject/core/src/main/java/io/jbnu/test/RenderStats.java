@@ -0,0 +1,188 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * 프레임별 렌더 통계 + 단계별 CPU 시간 (런타임 토글, 꺼져 있으면 boolean 검사 하나만 남는다).
+ *
+ * - GL 카운터: GLProfiler (드로우 콜, 텍스처 바인드, 셰이더 전환, 정점 수)
+ * - 자체 카운터: SpriteBatch flush 수, FBO 패스 수, 정적 스프라이트 그림/컬링 수
+ * - 단계 시간: phase(name)로 등록한 구간의 ms를 WINDOW 프레임 링 버퍼에 쌓아 p50/p95/p99 계산
+ *
+ * 켜는 순간 GLProfiler가 GL20을 감싸고, 끄면 원래 GL로 되돌린다.
+ */
+public class RenderStats {
+
+    public static final int WINDOW = 240;            // 약 4초(60fps)
+    private static final int MAX_PHASES = 24;
+    private static final float TEXT_REFRESH_SECONDS = 0.5f;
+
+    /** 프레임 전체(beginFrame ~ endFrame) */
+    public static final int FRAME = 0;
+
+    private final GLProfiler profiler;
+    private boolean enabled;
+    private boolean requested;   // toggle()은 다음 beginFrame에서 반영(프레임 중간에 켜져 구간이 깨지지 않도록)
+
+    // --- 단계 타이밍 ---
+    private final Array<String> phaseNames = new Array<>();
+    private final float[][] samples = new float[MAX_PHASES][WINDOW]; // ms
+    private final long[] phaseStart = new long[MAX_PHASES];
+    private final float[] phaseAccum = new float[MAX_PHASES];
+    private final float[] sortScratch = new float[WINDOW];
+    private int cursor, filled;
+
+    // --- 마지막 프레임 카운터 ---
+    private int drawCalls, textureBinds, shaderSwitches, glCalls;
+    private int vertices;
+    private int batchFlushes, fboPasses;
+    private int spritesDrawn, spritesCulled;
+    private int lastBatchTotal;
+
+    // --- 오버레이 텍스트 캐시 ---
+    private final StringBuilder text = new StringBuilder(512);
+    private float textAge = TEXT_REFRESH_SECONDS;
+
+    public RenderStats() {
+        profiler = new GLProfiler(Gdx.graphics);
+        phase("frame");
+    }
+
+    /** 단계 등록 (같은 이름이면 기존 id). 설정 단계에서 한 번만 부른다 */
+    public int phase(String name) {
+        int id = phaseNames.indexOf(name, false);
+        if (id >= 0) return id;
+        if (phaseNames.size >= MAX_PHASES) throw new IllegalStateException("Too many render phases");
+        phaseNames.add(name);
+        return phaseNames.size - 1;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void toggle() { requested = !requested; }
+
+    /** 즉시 켜고 끔 (프레임 밖에서 호출) */
+    public void setEnabled(boolean on) {
+        requested = on;
+        if (on == enabled) return;
+        enabled = on;
+        if (on) {
+            profiler.enable();
+            cursor = filled = 0;
+            textAge = TEXT_REFRESH_SECONDS;
+        } else {
+            profiler.disable();
+        }
+    }
+
+    // ---------------------------
+    // 프레임 기록
+    // ---------------------------
+    public void beginFrame(SpriteBatch batch) {
+        if (requested != enabled) setEnabled(requested);
+        if (!enabled) return;
+        profiler.reset();
+        lastBatchTotal = batch.totalRenderCalls;
+        Arrays.fill(phaseAccum, 0, phaseNames.size, 0f);
+        phaseStart[FRAME] = System.nanoTime();
+    }
+
+    public void begin(int phase) {
+        if (!enabled) return;
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    /** 같은 단계를 한 프레임에 여러 번 재도 합산된다 */
+    public void end(int phase) {
+        if (!enabled) return;
+        phaseAccum[phase] += (System.nanoTime() - phaseStart[phase]) / 1_000_000f;
+    }
+
+    /**
+     * @param fboPasses 이번 프레임 FBO 렌더 패스 수 (CameraFxManager)
+     * @param drawn     정적 스프라이트 제출 수 (LevelRenderer)
+     * @param culled    정적 스프라이트 컬링 수
+     */
+    public void endFrame(SpriteBatch batch, int fboPasses, int drawn, int culled, float delta) {
+        if (!enabled) return;
+        end(FRAME);
+
+        drawCalls = profiler.getDrawCalls();
+        textureBinds = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+        glCalls = profiler.getCalls();
+        vertices = (int) profiler.getVertexCount().total;
+        batchFlushes = batch.totalRenderCalls - lastBatchTotal;
+        this.fboPasses = fboPasses;
+        spritesDrawn = drawn;
+        spritesCulled = culled;
+
+        for (int p = 0; p < phaseNames.size; p++) samples[p][cursor] = phaseAccum[p];
+        cursor = (cursor + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+        textAge += delta;
+    }
+
+    /** 최근 WINDOW 프레임에서 단계의 백분위 시간(ms). q는 0~1 */
+    public float percentile(int phase, float q) {
+        if (filled == 0) return 0f;
+        System.arraycopy(samples[phase], 0, sortScratch, 0, filled);
+        Arrays.sort(sortScratch, 0, filled);
+        int idx = Math.min(filled - 1, (int) (q * filled));
+        return sortScratch[idx];
+    }
+
+    // ---------------------------
+    // 오버레이
+    // ---------------------------
+    /** 오버레이 문자열 (TEXT_REFRESH_SECONDS마다 다시 만든다) */
+    public CharSequence overlayText() {
+        if (textAge < TEXT_REFRESH_SECONDS) return text;
+        textAge = 0f;
+        text.setLength(0);
+        text.append("draw ").append(drawCalls)
+            .append("  binds ").append(textureBinds)
+            .append("  shaders ").append(shaderSwitches)
+            .append("  gl ").append(glCalls).append('\n');
+        text.append("verts ").append(vertices)
+            .append("  flushes ").append(batchFlushes)
+            .append("  fbo ").append(fboPasses)
+            .append("  sprites ").append(spritesDrawn).append('/').append(spritesDrawn + spritesCulled).append('\n');
+        text.append("phase ms  p50 / p95 / p99\n");
+        for (int p = 0; p < phaseNames.size; p++) {
+            text.append(phaseNames.get(p)).append("  ");
+            appendMs(percentile(p, 0.50f)).append(" / ");
+            appendMs(percentile(p, 0.95f)).append(" / ");
+            appendMs(percentile(p, 0.99f)).append('\n');
+        }
+        return text;
+    }
+
+    private StringBuilder appendMs(float ms) {
+        int hundredths = Math.round(ms * 100f);
+        text.append(hundredths / 100).append('.');
+        int frac = hundredths % 100;
+        if (frac < 10) text.append('0');
+        return text.append(frac);
+    }
+
+    // ---------------------------
+    // 접근자 (마지막 프레임 기준)
+    // ---------------------------
+    public int getDrawCalls()      { return drawCalls; }
+    public int getTextureBinds()   { return textureBinds; }
+    public int getShaderSwitches() { return shaderSwitches; }
+    public int getGlCalls()        { return glCalls; }
+    public int getVertices()       { return vertices; }
+    public int getBatchFlushes()   { return batchFlushes; }
+    public int getFboPasses()      { return fboPasses; }
+    public int getSpritesDrawn()   { return spritesDrawn; }
+    public int getSpritesCulled()  { return spritesCulled; }
+    public int getPhaseCount()     { return phaseNames.size; }
+    public String getPhaseName(int phase) { return phaseNames.get(phase); }
+}
@@ -0,0 +1,99 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * 균일 격자 공간 해시 브로드페이즈.
+ * - 각 항목은 자신의 AABB가 걸치는 모든 셀에 등록
+ * - 질의는 영역이 걸치는 셀만 순회하므로 레벨 크기와 무관하게 비용이 일정
+ * - 여러 셀에 걸친 항목은 질의 번호(stamp)로 중복 보고를 막는다
+ */
+public class SpatialHash<T> implements Broadphase<T> {
+
+    private final float cellSize;
+    private final LongMap<IntArray> cells = new LongMap<>();
+    private final Array<T> items = new Array<>();
+    private final Array<Rectangle> bounds = new Array<>();
+    private final IntArray stamps = new IntArray();
+    private int queryStamp = 0;
+
+    public SpatialHash(float cellSize) {
+        if (cellSize <= 0f) throw new IllegalArgumentException("cellSize must be > 0");
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void insert(T item, float x, float y, float w, float h) {
+        int id = items.size;
+        items.add(item);
+        bounds.add(new Rectangle(x, y, w, h));
+        stamps.add(0);
+
+        int minX = cell(x), maxX = cell(x + w);
+        int minY = cell(y), maxY = cell(y + h);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                long key = key(cx, cy);
+                IntArray bucket = cells.get(key);
+                if (bucket == null) {
+                    bucket = new IntArray(4);
+                    cells.put(key, bucket);
+                }
+                bucket.add(id);
+            }
+        }
+    }
+
+    @Override
+    public void query(Rectangle area, Array<T> out) {
+        if (items.size == 0) return;
+        queryStamp++;
+
+        int minX = cell(area.x), maxX = cell(area.x + area.width);
+        int minY = cell(area.y), maxY = cell(area.y + area.height);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                IntArray bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                for (int i = 0; i < bucket.size; i++) {
+                    int id = bucket.items[i];
+                    if (stamps.items[id] == queryStamp) continue;
+                    stamps.items[id] = queryStamp;
+                    // 셀은 넉넉하게 잡히므로 실제 AABB로 한 번 더 거른다(경계 접촉 포함)
+                    Rectangle b = bounds.get(id);
+                    if (b.x > area.x + area.width || b.x + b.width < area.x) continue;
+                    if (b.y > area.y + area.height || b.y + b.height < area.y) continue;
+                    out.add(items.get(id));
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() { return items.size; }
+
+    @Override
+    public void clear() {
+        cells.clear();
+        items.clear();
+        bounds.clear();
+        stamps.clear();
+        queryStamp = 0;
+    }
+
+    public float getCellSize() { return cellSize; }
+
+    // ---------------------------
+    // 유틸
+    // ---------------------------
+    private int cell(float v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,65 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * 움직이는 AABB 대 정적 AABB의 충돌 시각(TOI) 계산.
+ * 이동량(dx, dy) 전체를 0~1로 보고, 처음 닿는 시점과 닿은 면의 법선을 구한다.
+ * 이미 겹친 상태에서 시작하면 충돌로 보지 않는다(최소침투 해법이 처리).
+ */
+public final class SweptAabb {
+
+    /** 충돌 없음 */
+    public static final float NO_HIT = 1f;
+
+    // 마지막 sweep의 법선(-1, 0, 1)
+    public int normalX, normalY;
+
+    /**
+     * @return 0 ~ 1 사이 TOI, 충돌이 없으면 {@link #NO_HIT}
+     */
+    public float sweep(float px, float py, float pw, float ph, float dx, float dy, Rectangle b) {
+        normalX = 0;
+        normalY = 0;
+
+        float txEntry, txExit, tyEntry, tyExit;
+
+        if (dx == 0f) {
+            // 가로로 안 움직이면 x 구간이 (경계 제외) 겹쳐 있어야만 닿을 수 있음
+            if (px + pw <= b.x || px >= b.x + b.width) return NO_HIT;
+            txEntry = Float.NEGATIVE_INFINITY;
+            txExit = Float.POSITIVE_INFINITY;
+        } else if (dx > 0f) {
+            txEntry = (b.x - (px + pw)) / dx;
+            txExit = (b.x + b.width - px) / dx;
+        } else {
+            txEntry = (b.x + b.width - px) / dx;
+            txExit = (b.x - (px + pw)) / dx;
+        }
+
+        if (dy == 0f) {
+            if (py + ph <= b.y || py >= b.y + b.height) return NO_HIT;
+            tyEntry = Float.NEGATIVE_INFINITY;
+            tyExit = Float.POSITIVE_INFINITY;
+        } else if (dy > 0f) {
+            tyEntry = (b.y - (py + ph)) / dy;
+            tyExit = (b.y + b.height - py) / dy;
+        } else {
+            tyEntry = (b.y + b.height - py) / dy;
+            tyExit = (b.y - (py + ph)) / dy;
+        }
+
+        float entry = Math.max(txEntry, tyEntry);
+        float exit = Math.min(txExit, tyExit);
+
+        // 닿지 않음 / 이미 겹침(entry < 0) / 이번 이동 뒤에 닿음
+        if (entry >= exit || entry < 0f || entry >= 1f) return NO_HIT;
+
+        if (txEntry > tyEntry) {
+            normalX = dx > 0f ? -1 : 1;
+        } else {
+            normalY = dy > 0f ? -1 : 1;
+        }
+        return entry;
+    }
+}
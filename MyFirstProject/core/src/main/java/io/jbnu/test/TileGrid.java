@@ -0,0 +1,206 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 지면 셀 배치를 담는 조밀한 격자. 칸마다 타일 ID 1바이트(0 = 비어 있음, 나머지는 TileType).
+ * 칸 값은 "이 좌표에 CELL_SIZE 크기 셀의 좌하단이 있다"는 뜻이다.
+ * 셀마다 객체를 두지 않으므로 타일당 1바이트이고, 충돌 구간/그리기 모두 이 버퍼를 직접 훑는다.
+ *
+ * 간격은 항상 CELL_SIZE다. 원점이 격자에서 어긋난 타일(level1의 x=320 등)은 격자에 맞추지 않고
+ * 셀 좌하단 좌표를 그대로 '격자 밖 셀'(loose) 목록에 둔다 → 손으로 놓은 좌표가 그대로 보존된다.
+ * 격자의 열/행 범위는 격자 밖 셀도 덮는다(셀 좌표를 CELL_SIZE로 내린 칸).
+ *
+ * 칸은 스트리밍 청크(CHUNK_COLS 열) 단위 블록으로 놓인다: 블록 안은 행 우선, 블록은 x 순.
+ * 원점 x는 청크 경계에 맞추고 열 수는 CHUNK_COLS 배수로 채우므로 청크 하나 = 연속된 바이트 한 덩어리.
+ * .mlvl의 GRID 섹션도 같은 배치라서, 컴파일된 맵은 매핑된 파일을 복사하지 않고 그대로 본다
+ * (운영체제가 실제로 읽은 청크의 페이지만 올린다 — 지면 메모리가 레벨 길이가 아닌 시야 거리에 비례).
+ */
+public class TileGrid {
+
+    /** 타일 한 변(px). 모든 종류 공통 */
+    public static final int CELL_SIZE = 50;
+    /** 스트리밍 청크 한 개의 열 수 (Map.CHUNK_SIZE = CHUNK_WIDTH) */
+    public static final int CHUNK_COLS = 8;
+    public static final int CHUNK_WIDTH = CHUNK_COLS * CELL_SIZE;
+
+    public static final byte EMPTY = 0;
+    public static final byte GROUND = TileType.GROUND.id;
+
+    public final int originX, originY;  // (0, 0) 칸의 월드 좌표 (originX는 CHUNK_WIDTH 배수)
+    public final int cols, rows;        // cols는 CHUNK_COLS 배수
+    private final ByteBuffer cells;     // 청크 블록 순서. 절대 위치로만 읽는다
+
+    // 격자 밖 셀: 좌하단 정수 좌표와 타일 ID (보통 비어 있다)
+    private final IntArray looseX, looseY;
+    private final ByteArray looseCells;
+
+    public TileGrid(int originX, int originY, int cols, int rows, ByteBuffer cells) {
+        this(originX, originY, cols, rows, cells, new IntArray(0), new IntArray(0), new ByteArray(0));
+    }
+
+    public TileGrid(int originX, int originY, int cols, int rows, ByteBuffer cells,
+                    IntArray looseX, IntArray looseY, ByteArray looseCells) {
+        if (cols % CHUNK_COLS != 0 || Math.floorMod(originX, CHUNK_WIDTH) != 0) {
+            throw new IllegalArgumentException("grid is not aligned to chunks");
+        }
+        if (cells.remaining() != cols * rows) throw new IllegalArgumentException("cells size mismatch");
+        if (looseX.size != looseY.size || looseX.size != looseCells.size) {
+            throw new IllegalArgumentException("loose cell size mismatch");
+        }
+        this.originX = originX;
+        this.originY = originY;
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = cells.slice();
+        this.looseX = looseX;
+        this.looseY = looseY;
+        this.looseCells = looseCells;
+    }
+
+    public static TileGrid empty() {
+        return new TileGrid(0, 0, 0, 0, ByteBuffer.allocate(0));
+    }
+
+    /**
+     * JSON 타일 정의(사각형)를 셀 격자로 펼친다. 겹친 칸은 한 칸으로 합쳐진다(나중 타일의 종류).
+     * 원점이 CELL_SIZE 배수인 타일은 격자 칸으로, 아니면 격자 밖 셀로 간다.
+     * 정수가 아닌 원점이나 모르는 type은 예외 (MapValidator가 빌드 때 먼저 걸러낸다)
+     */
+    public static TileGrid fromTiles(Array<Map.MapData.TileDef> tiles) {
+        if (tiles == null || tiles.size == 0) return empty();
+
+        // 1) 범위: Map의 기존 규칙대로 타일 원점에서 CELL_SIZE씩 채운다 (격자 밖 타일은 내린 칸 기준)
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (Map.MapData.TileDef t : tiles) {
+            if (t.x != (int) t.x || t.y != (int) t.y) {
+                throw new IllegalArgumentException("tile origin (" + t.x + ", " + t.y + ") is not a whole pixel");
+            }
+            int x = (int) t.x, y = (int) t.y;
+            minX = Math.min(minX, snap(x));
+            minY = Math.min(minY, snap(y));
+            maxX = Math.max(maxX, snap(lastCell(x, t.x + t.w)));
+            maxY = Math.max(maxY, snap(lastCell(y, t.y + t.h)));
+        }
+        // 열 범위는 청크 경계까지 넓힌다
+        int originX = Math.floorDiv(minX, CHUNK_WIDTH) * CHUNK_WIDTH;
+        int chunks = Math.floorDiv(maxX, CHUNK_WIDTH) - Math.floorDiv(originX, CHUNK_WIDTH) + 1;
+
+        // 2) 채우기
+        int cols = chunks * CHUNK_COLS;
+        int rows = (maxY - minY) / CELL_SIZE + 1;
+        byte[] cells = new byte[cols * rows];
+        IntArray looseX = new IntArray(0), looseY = new IntArray(0);
+        ByteArray looseCells = new ByteArray(0);
+        for (Map.MapData.TileDef t : tiles) {
+            TileType type = TileType.byName(t.type);
+            if (type == null) throw new IllegalArgumentException("unknown tile type '" + t.type + "'");
+            boolean onGrid = isOnGrid(t.x) && isOnGrid(t.y);
+            for (int x = (int) t.x; x < t.x + t.w; x += CELL_SIZE) {
+                for (int y = (int) t.y; y < t.y + t.h; y += CELL_SIZE) {
+                    if (onGrid) {
+                        cells[index((x - originX) / CELL_SIZE, (y - minY) / CELL_SIZE, rows)] = type.id;
+                    } else {
+                        looseX.add(x);
+                        looseY.add(y);
+                        looseCells.add(type.id);
+                    }
+                }
+            }
+        }
+        return new TileGrid(originX, minY, cols, rows, ByteBuffer.wrap(cells), looseX, looseY, looseCells);
+    }
+
+    /** 격자 칸 원점으로 쓸 수 있는 좌표인가 (CELL_SIZE 배수의 정수) */
+    public static boolean isOnGrid(float v) {
+        return v == (int) v && (int) v % CELL_SIZE == 0;
+    }
+
+    /** (col, row) 칸의 버퍼 위치: 청크 블록 → 블록 안 행 우선 */
+    private static int index(int col, int row, int rows) {
+        return (col / CHUNK_COLS) * (CHUNK_COLS * rows) + row * CHUNK_COLS + col % CHUNK_COLS;
+    }
+
+    public byte get(int col, int row) { return cells.get(index(col, row, rows)); }
+
+    public int cellX(int col) { return originX + col * CELL_SIZE; }
+
+    public int cellY(int row) { return originY + row * CELL_SIZE; }
+
+    /** 격자 밖 셀 수 */
+    public int looseCount() { return looseX.size; }
+
+    public int looseX(int i) { return looseX.get(i); }
+
+    public int looseY(int i) { return looseY.get(i); }
+
+    public byte looseCell(int i) { return looseCells.get(i); }
+
+    /** 채워진 칸 수 (격자 밖 셀 포함) */
+    public int countTiles() {
+        int n = looseX.size;
+        for (int i = 0, size = cells.limit(); i < size; i++) if (cells.get(i) != EMPTY) n++;
+        return n;
+    }
+
+    /** 월드 x 이상에 놓인 첫 열 (0~cols로 잘림) */
+    public int colAtOrAfter(float x) {
+        int col = (int) Math.ceil((x - originX) / CELL_SIZE);
+        return Math.max(0, Math.min(cols, col));
+    }
+
+    /** 월드 y 이상에 놓인 첫 행 (0~rows로 잘림) */
+    public int rowAtOrAfter(float y) {
+        int row = (int) Math.ceil((y - originY) / CELL_SIZE);
+        return Math.max(0, Math.min(rows, row));
+    }
+
+    /** 충돌하는(solid) 칸의 좌하단 좌표를 (y, x) 순으로 덧붙인다 */
+    public void collectCells(IntArray outX, IntArray outY) {
+        collectCells(0, cols, outX, outY);
+    }
+
+    /**
+     * [colStart, colEnd) 열 범위만. 격자 밖 셀은 좌하단 x가 [cellX(colStart), cellX(colEnd)) 안이면 포함하고,
+     * 그런 셀이 섞이면 덧붙인 구간을 (y, x) 순으로 다시 정렬한다
+     */
+    public void collectCells(int colStart, int colEnd, IntArray outX, IntArray outY) {
+        int start = outX.size;
+        for (int row = 0; row < rows; row++) {
+            for (int col = colStart; col < colEnd; col++) {
+                if (!TileType.isSolid(get(col, row))) continue;
+                outX.add(cellX(col));
+                outY.add(cellY(row));
+            }
+        }
+        if (looseX.size == 0) return;
+        int minX = cellX(colStart), maxX = cellX(colEnd);
+        boolean added = false;
+        for (int i = 0; i < looseX.size; i++) {
+            int x = looseX.get(i);
+            if (x < minX || x >= maxX || !TileType.isSolid(looseCells.get(i))) continue;
+            outX.add(x);
+            outY.add(looseY.get(i));
+            added = true;
+        }
+        if (added) CollisionGeometry.sortCells(outX, outY, start);
+    }
+
+    /** 직렬화용: 청크 블록 순서의 칸 전체 (읽기 전용 뷰) */
+    ByteBuffer cellData() { return cells.asReadOnlyBuffer(); }
+
+    private static int snap(int v) {
+        return Math.floorDiv(v, CELL_SIZE) * CELL_SIZE;
+    }
+
+    private static int lastCell(int start, float end) {
+        int last = start;
+        for (int v = start; v < end; v += CELL_SIZE) last = v;
+        return last;
+    }
+}
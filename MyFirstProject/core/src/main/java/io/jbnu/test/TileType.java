@@ -0,0 +1,58 @@
+package io.jbnu.test;
+
+/**
+ * 타일 종류별 공유 데이터(플라이웨이트). TileGrid 칸에는 id 1바이트만 두고
+ * 충돌 여부 같은 종류 정보는 여기서 찾는다. 그림(아틀라스 영역)은 표현 계층인 LevelRenderer가 id로 고른다.
+ *
+ * 맵 JSON의 타일 "type" 이름(생략하면 ground)이 id로 바뀌어 격자/.mlvl에 저장된다.
+ * id는 파일 형식의 일부이므로 바꾸지 말고 새 종류는 새 id로 추가한다.
+ */
+public final class TileType {
+
+    private static final TileType[] BY_ID = new TileType[256];
+
+    /** 기본 지면 블록 */
+    public static final TileType GROUND = new TileType(1, "ground", true);
+
+    public final byte id;
+    public final String name;
+    public final boolean solid;   // 충돌 사각형에 들어가는지
+
+    private TileType(int id, String name, boolean solid) {
+        if (id <= 0 || id > 255 || BY_ID[id] != null) throw new IllegalArgumentException("bad tile id " + id);
+        this.id = (byte) id;
+        this.name = name;
+        this.solid = solid;
+        BY_ID[id] = this;
+    }
+
+    /** 칸 값 → 종류 (빈 칸/모르는 id는 null) */
+    public static TileType get(byte id) {
+        return BY_ID[id & 0xFF];
+    }
+
+    /** JSON 타일 type 이름 → 종류 (null/빈 문자열은 ground, 모르는 이름은 null) */
+    public static TileType byName(String name) {
+        if (name == null || name.isEmpty()) return GROUND;
+        for (TileType t : BY_ID) {
+            if (t != null && t.name.equalsIgnoreCase(name)) return t;
+        }
+        return null;
+    }
+
+    public static boolean isSolid(byte id) {
+        TileType t = BY_ID[id & 0xFF];
+        return t != null && t.solid;
+    }
+
+    /** 가장 큰 id + 1 (id로 색인하는 배열 크기) */
+    public static int idLimit() {
+        for (int i = BY_ID.length - 1; i > 0; i--) {
+            if (BY_ID[i] != null) return i + 1;
+        }
+        return 1;
+    }
+
+    @Override
+    public String toString() { return name; }
+}
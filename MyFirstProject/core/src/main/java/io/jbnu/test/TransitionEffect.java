@@ -1,13 +1,23 @@
 package io.jbnu.test;
 
+/**
+ * 레벨 전환 페이드. FADE_OUT → LOADING → FADE_IN.
+ * LOADING은 Gate가 준비됐다고 할 때까지 화면을 검게 유지하고, 준비되는 틱에 중앙 콜백(레벨 스왑)을 실행한다.
+ */
 public class TransitionEffect {
     public enum Phase { IDLE, FADE_OUT, LOADING, FADE_IN }
 
+    /** LOADING 유지 조건 (다음 레벨 데이터/에셋 준비 여부) */
+    public interface Gate {
+        boolean isReady();
+    }
+
     private Phase phase = Phase.IDLE;
     private float t = 0f;
     private final float fadeOutDur;
     private final float fadeInDur;
     private Runnable onMidpoint; // 레벨 스왑 등
+    private Gate gate;           // null이면 바로 통과
 
     public TransitionEffect(float fadeOutDur, float fadeInDur) {
         this.fadeOutDur = fadeOutDur;
@@ -19,7 +29,12 @@ public class TransitionEffect {
     }
 
     public void start(Runnable onMidpoint) {
+        start(onMidpoint, null);
+    }
+
+    public void start(Runnable onMidpoint, Gate gate) {
         this.onMidpoint = onMidpoint;
+        this.gate = gate;
         this.t = 0f;
         this.phase = Phase.FADE_OUT;
     }
@@ -42,13 +57,13 @@ public class TransitionEffect {
 
         if (phase == Phase.FADE_OUT) {
             if (t >= fadeOutDur) {
-                // 중앙 지점: 실제 레벨 스왑 실행
-                if (onMidpoint != null) onMidpoint.run();
                 t = 0f;
-                phase = Phase.LOADING; // 한 틱 유지
+                phase = Phase.LOADING; // 준비될 때까지 유지
             }
         } else if (phase == Phase.LOADING) {
-            // 다음 프레임부터 페이드 인
+            if (gate != null && !gate.isReady()) return;
+            // 중앙 지점: 실제 레벨 스왑 실행 후 다음 틱부터 페이드 인
+            if (onMidpoint != null) onMidpoint.run();
             t = 0f;
             phase = Phase.FADE_IN;
         } else if (phase == Phase.FADE_IN) {
@@ -59,5 +74,7 @@ public class TransitionEffect {
         }
     }
 
+    public Phase getPhase() { return phase; }
+
     private float clamp01(float v) { return v < 0 ? 0 : (v > 1 ? 1 : v); }
 }
@@ -0,0 +1,59 @@
+package io.jbnu.test;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 정상 상태의 GameWorld.update는 힙에 아무것도 할당하지 않는다 (HotSpot ThreadMXBean 할당 카운터로 측정).
+ * 배포 레벨마다 시작 지점에서 서 있기/제자리 점프(수중은 상승)만 측정한다.
+ */
+public class GameWorldAllocationTest {
+
+    private static final int WARMUP_TICKS = 20000;
+    private static final int MEASURED_TICKS = 600;
+    /** JIT 단계 전환(역최적화) 때 드물게 수십 바이트가 잡히므로 측정 구간 몇 개 중 최소를 본다 */
+    private static final int WINDOWS = 3;
+
+    @Test
+    public void steadyStateUpdateDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        for (int level = 1; level <= TestLevels.SHIPPED_LEVELS; level++) {
+            for (boolean jumping : new boolean[]{ false, true }) {
+                Map map = new FileLevelSource(TestLevels.mapsDir()).load(level);
+                GameWorld world = new GameWorld(TestLevels.single(map));
+                InputState input = new InputState();
+                int tick = 0;
+                for (int i = 0; i < WARMUP_TICKS; i++) step(world, input, level, jumping, ++tick);
+                if (!jumping && level != 2) {
+                    assertTrue("level" + level + ": player stands on the ground", world.getPlayer().isGrounded);
+                }
+
+                long best = Long.MAX_VALUE;
+                for (int w = 0; w < WINDOWS && best > 0; w++) {
+                    long before = threads.getThreadAllocatedBytes(thread);
+                    for (int i = 0; i < MEASURED_TICKS; i++) step(world, input, level, jumping, ++tick);
+                    best = Math.min(best, threads.getThreadAllocatedBytes(thread) - before);
+                }
+                assertEquals("level" + level + (jumping ? " jumping" : " standing") + ": bytes allocated over "
+                    + MEASURED_TICKS + " ticks", 0L, best);
+            }
+        }
+    }
+
+    private static void step(GameWorld world, InputState input, int level, boolean jumping, int tick) {
+        input.jump = jumping && tick % 45 == 0;
+        input.up = jumping && level == 2 && tick % 90 < 30;
+        world.update(1f / 60f, input);
+    }
+}
@@ -0,0 +1,86 @@
+package io.jbnu.test;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class InputRecordingTest {
+
+    private static final float TICK_RATE = 60f;
+
+    @Test
+    public void writeReadRoundTrip() throws IOException {
+        InputRecording.Recorder recorder = new InputRecording.Recorder(2, TICK_RATE, 0x1234_5678_9ABCL);
+        InputState input = new InputState();
+        int ticks = 5000;
+        for (int i = 0; i < ticks; i++) {
+            input.setBits(pattern(i));
+            recorder.record(input);
+        }
+        InputRecording original = recorder.finish();
+
+        InputRecording copy = roundTrip(original);
+        assertEquals(2, copy.level);
+        assertEquals(TICK_RATE, copy.tickRate, 0f);
+        assertEquals(0x1234_5678_9ABCL, copy.seed);
+        assertEquals(ticks, copy.script.getTotalTicks());
+        assertEquals(original.script.getRunCount(), copy.script.getRunCount());
+
+        InputScript.Cursor cursor = copy.script.cursor();
+        for (int i = 0; i < ticks; i++) {
+            cursor.next(input);
+            assertEquals("tick " + i, pattern(i), input.toBits());
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void replayOfSavedRecordingReproducesSession() throws IOException {
+        FileLevelSource levels = new FileLevelSource(TestLevels.mapsDir());
+        GameWorld live = new GameWorld(levels, 1, GameWorld.DEFAULT_PLAYER_WIDTH, GameWorld.DEFAULT_PLAYER_HEIGHT);
+        InputRecording.Recorder recorder = new InputRecording.Recorder(1, TICK_RATE, 0L);
+        InputState input = new InputState();
+        for (int i = 0; i < 60 * 30 && !live.isGameCleared(); i++) {
+            input.clear();
+            input.right = (i / 240) % 4 != 3;
+            input.left = (i / 240) % 4 == 3;
+            input.jump = i % 37 < 3;
+            recorder.record(input);
+            live.update(1f / TICK_RATE, input);
+        }
+
+        GameWorld replayed = new ReplayDriver(levels).replay(roundTrip(recorder.finish()));
+        assertEquals(live.getTickCount(), replayed.getTickCount());
+        assertEquals(live.getLevel(), replayed.getLevel());
+        assertEquals(live.getScore(), replayed.getScore());
+        assertEquals(live.getDeathCount(), replayed.getDeathCount());
+        assertEquals(live.getPlayer().position.x, replayed.getPlayer().position.x, 0f);
+        assertEquals(live.getPlayer().position.y, replayed.getPlayer().position.y, 0f);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignData() throws IOException {
+        InputRecording.read(new ByteArrayInputStream(new byte[]{ 'M', 'L', 'V', 'L', 2, 0 }));
+    }
+
+    /** 런 길이가 다양하도록 섞은 입력 비트 */
+    private static int pattern(int tick) {
+        int bits = 0;
+        if ((tick / 90) % 3 != 2) bits |= InputState.BIT_RIGHT;
+        if ((tick / 90) % 3 == 2) bits |= InputState.BIT_LEFT;
+        if (tick % 45 < 2) bits |= InputState.BIT_JUMP;
+        if ((tick / 300) % 2 == 1) bits |= InputState.BIT_UP;
+        return bits;
+    }
+
+    private static InputRecording roundTrip(InputRecording recording) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        recording.write(bytes);
+        return InputRecording.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,100 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 스트리밍 충돌 사각형이 레벨 전체 병합(스트리밍 이전의 Map 방식)과 같은지.
+ * 활성 창의 사각형 = 그 창의 열들만 레벨 전체 방식(CollisionGeometry.mergeCells)으로 병합한 결과여야 한다.
+ */
+public class LevelStreamerTest {
+
+    @Test
+    public void activateAllMatchesWholeLevelMerge() {
+        for (int level = 1; level <= TestLevels.SHIPPED_LEVELS; level++) {
+            Map map = new Map(level, TestLevels.json(level));
+            LevelStreamer streamer = new LevelStreamer(null);
+            streamer.reset(map);
+            streamer.activateAll();
+            TileGrid grid = map.getGrid();
+            assertEquals("level" + level, merged(grid, 0, grid.cols), solids(streamer, grid));
+        }
+    }
+
+    @Test
+    public void streamingWindowMatchesWholeLevelMergeOfSameColumns() {
+        for (int level = 1; level <= TestLevels.SHIPPED_LEVELS; level++) {
+            Map map = new Map(level, TestLevels.json(level));
+            TileGrid grid = map.getGrid();
+            LevelStreamer streamer = new LevelStreamer(null);
+            streamer.reset(map);
+
+            int first = map.getFirstChunk(), last = map.getLastChunk();
+            for (float x = (first - 2) * Map.CHUNK_SIZE; x <= (last + 2) * Map.CHUNK_SIZE; x += Map.CHUNK_SIZE / 4f) {
+                streamer.update(x);
+                int center = Map.chunkIndex(x);
+                int from = Math.max(first, center - LevelStreamer.DEFAULT_ACTIVE_RADIUS);
+                int to = Math.min(last, center + LevelStreamer.DEFAULT_ACTIVE_RADIUS);
+                String expected = from > to ? "" : merged(grid,
+                    grid.colAtOrAfter(from * Map.CHUNK_SIZE), grid.colAtOrAfter((to + 1) * Map.CHUNK_SIZE));
+                assertEquals("level" + level + " x=" + x, expected, solids(streamer, grid));
+            }
+        }
+    }
+
+    @Test
+    public void prefetchWorkerDoesNotChangeSolids() throws InterruptedException {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Map map = new Map(3, TestLevels.json(3));
+            TileGrid grid = map.getGrid();
+            LevelStreamer sync = new LevelStreamer(null);
+            LevelStreamer async = new LevelStreamer(worker);
+            sync.reset(map);
+            async.reset(map);
+            int maxResident = 0;
+            for (float x = grid.originX; x <= grid.cellX(grid.cols); x += 37f) {
+                sync.update(x);
+                async.update(x);
+                maxResident = Math.max(maxResident, async.getResidentCount());
+                assertEquals("x=" + x, solids(sync, grid), solids(async, grid));
+            }
+            // 상주 청크는 해제 반경 안으로 묶인다
+            assertTrue(maxResident <= 2 * LevelStreamer.DEFAULT_EVICT_RADIUS + 1);
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    /** [colStart, colEnd) 열의 셀을 레벨 전체 방식으로 병합한 사각형 (정렬된 문자열) */
+    private static String merged(TileGrid grid, int colStart, int colEnd) {
+        IntArray xs = new IntArray(), ys = new IntArray();
+        grid.collectCells(colStart, colEnd, xs, ys);
+        return describe(CollisionGeometry.mergeCells(xs, ys, TileGrid.CELL_SIZE, TileGrid.CELL_SIZE));
+    }
+
+    private static String solids(LevelStreamer streamer, TileGrid grid) {
+        Rectangle all = new Rectangle(grid.originX - TileGrid.CELL_SIZE, grid.originY - TileGrid.CELL_SIZE,
+            (grid.cols + 2) * TileGrid.CELL_SIZE, (grid.rows + 2) * TileGrid.CELL_SIZE);
+        Array<Rectangle> out = new Array<>();
+        streamer.getSolids().query(all, out);
+        assertEquals("solids outside the grid bounds", streamer.getSolids().size(), out.size);
+        return describe(out);
+    }
+
+    private static String describe(Array<Rectangle> rects) {
+        String[] s = new String[rects.size];
+        for (int i = 0; i < rects.size; i++) s[i] = rects.get(i).toString();
+        Arrays.sort(s);
+        return String.join("\n", s);
+    }
+}
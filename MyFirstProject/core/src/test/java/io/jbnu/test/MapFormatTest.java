@@ -0,0 +1,222 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * .mlvl 쓰기/읽기: 컴파일된 맵이 JSON에서 바로 만든 맵과 같은 레벨이 되는지.
+ * 격자에서 어긋난 타일(level1)은 LOOS 섹션으로 좌표 그대로 오가야 한다.
+ * 청크 구간은 JSON 쪽은 격자를 훑어, .mlvl 쪽은 CHNK 섹션에서 만들어지므로 둘을 함께 검사한다.
+ */
+public class MapFormatTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void shippedLevelsRoundTrip() throws IOException {
+        for (int level = 1; level <= TestLevels.SHIPPED_LEVELS; level++) {
+            Map.MapData data = Map.parse(TestLevels.json(level));
+            Map expected = new Map(level, data);
+            Map actual = new Map(level, MapFormat.read(ByteBuffer.wrap(compile(data))));
+            assertSameLevel("level" + level, expected, actual);
+        }
+    }
+
+    @Test
+    public void mappedFileRoundTrip() throws IOException {
+        Map.MapData data = Map.parse(TestLevels.json(3));
+        FileHandle file = new FileHandle(temp.newFile("level3." + MapFormat.EXTENSION));
+        MapFormat.save(data, file);
+        assertSameLevel("level3 (mapped)", new Map(3, data), new Map(3, file));
+    }
+
+    @Test
+    public void offGridTilesKeepTheirCoordinates() throws IOException {
+        // level1처럼 50px 격자에서 어긋난 지면 + 음수 원점
+        Map.MapData data = new Map.MapData();
+        data.ground = new Array<>();
+        data.ground.add(tile(-100f, 0f, 200f, 50f));
+        data.ground.add(tile(320f, 0f, 200f, 50f));
+        data.ground.add(tile(333f, 87f, 50f, 100f));
+        Map expected = new Map(1, data);
+        assertEquals(4, expected.getGrid().countTiles() - expected.getGrid().looseCount());
+        assertEquals(6, expected.getGrid().looseCount());
+        Array<Rectangle> spans = wholeLevelSpans(expected.getGrid());
+        assertTrue(spans.contains(new Rectangle(320f, 0f, 200f, 50f), false));
+        assertTrue(spans.contains(new Rectangle(333f, 87f, 50f, 100f), false));
+
+        Map actual = new Map(1, MapFormat.read(ByteBuffer.wrap(compile(data))));
+        assertSameLevel("off-grid", expected, actual);
+    }
+
+    @Test
+    public void negativeOriginRoundTrip() throws IOException {
+        // 원점이 음수이고 청크 경계에 걸치지 않은 격자 (청크 정렬/floorMod 경로)
+        Map.MapData data = new Map.MapData();
+        data.ground = new Array<>();
+        data.ground.add(tile(-650f, -100f, 300f, 50f));
+        data.ground.add(tile(-200f, 0f, 900f, 50f));
+        data.ground.add(tile(350f, 150f, 100f, 100f));
+        data.ground.add(tile(1200f, 50f, 50f, 400f));
+        Map expected = new Map(1, data);
+        assertEquals(0, Math.floorMod(expected.getGrid().originX, TileGrid.CHUNK_WIDTH));
+        Map actual = new Map(1, MapFormat.read(ByteBuffer.wrap(compile(data))));
+        assertSameLevel("synthetic", expected, actual);
+        assertEquals(expected.getGrid().countTiles(), actual.getGrid().countTiles());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsFractionalTileOrigin() {
+        Map.MapData data = new Map.MapData();
+        data.ground = new Array<>();
+        data.ground.add(tile(10.5f, 0f, 50f, 50f));
+        new Map(1, data);
+    }
+
+    @Test
+    public void rejectsOutOfRangePipeOrientation() throws IOException {
+        Map.MapData data = new Map.MapData();
+        data.pipes = new Array<>();
+        Map.MapData.PipeDef pipe = new Map.MapData.PipeDef();
+        pipe.x = 100f; pipe.y = 50f; pipe.orientation = "up";
+        data.pipes.add(pipe);
+        byte[] bytes = compile(data);
+
+        // PIPE 섹션: tag(4) length(4) count(4) x(4) y(4) orientation(1)
+        int section = indexOf(bytes, new byte[]{ 'P', 'I', 'P', 'E' });
+        bytes[section + 20] = 7;
+        assertRejected(bytes, "orientation 7");
+    }
+
+    @Test
+    public void rejectsOutOfRangeEntityKind() throws IOException {
+        Map.MapData data = new Map.MapData();
+        data.entities = new Array<>();
+        Map.MapData.EntityDef coin = new Map.MapData.EntityDef();
+        coin.kind = "coin"; coin.x = 10f; coin.y = 20f; coin.w = 16f; coin.h = 16f;
+        data.entities.add(coin);
+        byte[] bytes = compile(data);
+
+        // ENTS 섹션: tag(4) length(4) kindCount(2) "coin"(2+4) count(4) kind(2) ...
+        int section = indexOf(bytes, new byte[]{ 'E', 'N', 'T', 'S' });
+        bytes[section + 20] = 0;
+        bytes[section + 21] = 5;
+        assertRejected(bytes, "kind index 5");
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignData() throws IOException {
+        MapFormat.read(ByteBuffer.wrap(new byte[]{ 'M', 'R', 'E', 'C', 1, 0, 0, 0 }));
+    }
+
+    // ---------------------------
+    // 비교
+    // ---------------------------
+    private static void assertSameLevel(String name, Map expected, Map actual) {
+        TileGrid a = expected.getGrid(), b = actual.getGrid();
+        assertEquals(name + " grid origin x", a.originX, b.originX);
+        assertEquals(name + " grid origin y", a.originY, b.originY);
+        assertEquals(name + " grid cols", a.cols, b.cols);
+        assertEquals(name + " grid rows", a.rows, b.rows);
+        for (int row = 0; row < a.rows; row++) {
+            for (int col = 0; col < a.cols; col++) {
+                assertEquals(name + " cell (" + col + ", " + row + ")", a.get(col, row), b.get(col, row));
+            }
+        }
+        assertEquals(name + " loose cells", a.looseCount(), b.looseCount());
+        for (int i = 0; i < a.looseCount(); i++) {
+            assertEquals(name + " loose cell " + i,
+                a.looseX(i) + "," + a.looseY(i) + ":" + a.looseCell(i),
+                b.looseX(i) + "," + b.looseY(i) + ":" + b.looseCell(i));
+        }
+
+        assertEquals(name + " first chunk", expected.getFirstChunk(), actual.getFirstChunk());
+        assertEquals(name + " last chunk", expected.getLastChunk(), actual.getLastChunk());
+        for (int c = expected.getFirstChunk(); c <= expected.getLastChunk(); c++) {
+            Map.Chunk ca = expected.buildChunk(c), cb = actual.buildChunk(c);
+            assertEquals(name + " chunk " + c + " runs", ca.runs.toString(", "), cb.runs.toString(", "));
+        }
+
+        assertEquals(name + " pipes", expected.getPipes().size, actual.getPipes().size);
+        for (int i = 0; i < expected.getPipes().size; i++) {
+            Pipe pa = expected.getPipes().get(i), pb = actual.getPipes().get(i);
+            assertEquals(name + " pipe " + i + " x", pa.getX(), pb.getX(), 0f);
+            assertEquals(name + " pipe " + i + " y", pa.getY(), pb.getY(), 0f);
+            assertEquals(name + " pipe " + i + " orientation", pa.getOrientation(), pb.getOrientation());
+        }
+
+        if (expected.getFlag() == null) {
+            assertNull(name + " flag", actual.getFlag());
+        } else {
+            assertNotNull(name + " flag", actual.getFlag());
+            assertEquals(name + " flag", expected.getFlag().getBound(), actual.getFlag().getBound());
+        }
+
+        Array<Rectangle> dza = expected.getDeathZones(), dzb = actual.getDeathZones();
+        assertEquals(name + " death zones", dza.size, dzb.size);
+        for (int i = 0; i < dza.size; i++) assertEquals(name + " death zone " + i, dza.get(i), dzb.get(i));
+
+        Array<Map.MapData.EntityDef> ea = expected.getEntities(), eb = actual.getEntities();
+        assertEquals(name + " entities", ea.size, eb.size);
+        for (int i = 0; i < ea.size; i++) assertEquals(name + " entity " + i, describe(ea.get(i)), describe(eb.get(i)));
+    }
+
+    /** 레벨 전체를 한 번에 병합한 충돌 사각형 */
+    private static Array<Rectangle> wholeLevelSpans(TileGrid grid) {
+        IntArray xs = new IntArray(), ys = new IntArray();
+        grid.collectCells(xs, ys);
+        return CollisionGeometry.mergeCells(xs, ys, TileGrid.CELL_SIZE, TileGrid.CELL_SIZE);
+    }
+
+    private static void assertRejected(byte[] bytes, String what) {
+        try {
+            MapFormat.read(ByteBuffer.wrap(bytes));
+            fail(what + " was accepted");
+        } catch (IOException expected) {
+            // 정상
+        }
+    }
+
+    private static String describe(Map.MapData.EntityDef e) {
+        return e.kind + " " + e.x + "," + e.y + " " + e.w + "x" + e.h + " d" + e.dx + "," + e.dy + " v" + e.speed;
+    }
+
+    private static byte[] compile(Map.MapData data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MapFormat.write(data, bytes);
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            for (int k = 0; k < pattern.length; k++) {
+                if (bytes[i + k] != pattern[k]) continue outer;
+            }
+            return i;
+        }
+        throw new AssertionError("section not found");
+    }
+
+    private static Map.MapData.TileDef tile(float x, float y, float w, float h) {
+        Map.MapData.TileDef t = new Map.MapData.TileDef();
+        t.x = x; t.y = y; t.w = w; t.h = h;
+        return t;
+    }
+}
@@ -0,0 +1,67 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SweptAabbTest {
+
+    private static final float EPS = 1e-5f;
+
+    private final SweptAabb swept = new SweptAabb();
+
+    @Test
+    public void hitsWallFromTheLeft() {
+        Rectangle wall = new Rectangle(15f, 0f, 10f, 50f);
+        float toi = swept.sweep(0f, 0f, 10f, 10f, 20f, 0f, wall);
+        assertEquals(0.25f, toi, EPS);
+        assertEquals(-1, swept.normalX);
+        assertEquals(0, swept.normalY);
+    }
+
+    @Test
+    public void landsOnFloor() {
+        Rectangle floor = new Rectangle(-100f, 0f, 200f, 10f);
+        float toi = swept.sweep(0f, 20f, 10f, 10f, 3f, -20f, floor);
+        assertEquals(0.5f, toi, EPS);
+        assertEquals(0, swept.normalX);
+        assertEquals(1, swept.normalY);
+    }
+
+    @Test
+    public void catchesThinWallThatStepCollisionWouldTunnelThrough() {
+        // 한 틱에 1000px 이동: 적분 후 겹침 검사로는 1px 벽을 건너뛴다
+        Rectangle wall = new Rectangle(500f, 0f, 1f, 100f);
+        float toi = swept.sweep(0f, 10f, 20f, 20f, 1000f, 0f, wall);
+        assertEquals(480f / 1000f, toi, EPS);
+        assertEquals(-1, swept.normalX);
+    }
+
+    @Test
+    public void missesWhenPathPassesBeside() {
+        Rectangle block = new Rectangle(50f, 100f, 10f, 10f);
+        assertEquals(SweptAabb.NO_HIT, swept.sweep(0f, 0f, 10f, 10f, 100f, 0f, block), 0f);
+        assertEquals(0, swept.normalX);
+        assertEquals(0, swept.normalY);
+    }
+
+    @Test
+    public void slidingAlongTopEdgeIsNotAHit() {
+        // 바닥 윗면에 딱 붙어 가로로만 이동
+        Rectangle floor = new Rectangle(0f, 0f, 200f, 10f);
+        assertEquals(SweptAabb.NO_HIT, swept.sweep(20f, 10f, 10f, 10f, 50f, 0f, floor), 0f);
+    }
+
+    @Test
+    public void startingOverlapIsLeftToPenetrationResolve() {
+        Rectangle block = new Rectangle(0f, 0f, 50f, 50f);
+        assertEquals(SweptAabb.NO_HIT, swept.sweep(10f, 10f, 10f, 10f, 100f, 0f, block), 0f);
+    }
+
+    @Test
+    public void contactAfterThisMoveIsNotAHit() {
+        Rectangle wall = new Rectangle(100f, 0f, 10f, 50f);
+        assertEquals(SweptAabb.NO_HIT, swept.sweep(0f, 0f, 10f, 10f, 50f, 0f, wall), 0f);
+    }
+}
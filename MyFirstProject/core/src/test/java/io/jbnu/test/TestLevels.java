@@ -0,0 +1,33 @@
+package io.jbnu.test;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * 테스트 공용: 배포 레벨 경로와 한 레벨만 돌려주는 LevelSource.
+ */
+final class TestLevels {
+
+    static final int SHIPPED_LEVELS = 3;
+
+    private TestLevels() {}
+
+    /** -Dassets.dir (core/build.gradle의 test 블록이 지정) 아래 maps 디렉터리 */
+    static FileHandle mapsDir() {
+        return new FileHandle(System.getProperty("assets.dir", "../assets")).child("maps");
+    }
+
+    /** 디자이너가 편집하는 원본 JSON (컴파일된 .mlvl이 있어도) */
+    static FileHandle json(int level) {
+        return new FileLevelSource(mapsDir()).jsonFile(level);
+    }
+
+    /** 레벨 전환 없이 같은 맵에 머무는 LevelSource */
+    static LevelSource single(final Map map) {
+        return new LevelSource() {
+            @Override
+            public Map load(int level) {
+                return level == 1 ? map : null;
+            }
+        };
+    }
+}
@@ -4,6 +4,8 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import io.jbnu.test.Main;
 
+import java.io.File;
+
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
@@ -12,7 +14,23 @@ public class Lwjgl3Launcher {
     }
 
     private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Main(), getDefaultConfiguration());
+        Main main = new Main(getSimulationHz());
+        // QA sessions: -Drecord.dir=/path/to/recordings saves every session's input as a .mrec file.
+        String recordDir = System.getProperty("record.dir");
+        if (recordDir != null) {
+            new File(recordDir).mkdirs();
+            main.setRecordingDir(new File(recordDir).getAbsolutePath());
+        }
+        return new Lwjgl3Application(main, getDefaultConfiguration());
+    }
+
+    /** Simulation tick rate, e.g. -Dsim.hz=30 on weak machines; 0 falls back to per-frame delta. */
+    private static float getSimulationHz() {
+        try {
+            return Float.parseFloat(System.getProperty("sim.hz", String.valueOf(Main.DEFAULT_SIM_HZ)));
+        } catch (NumberFormatException e) {
+            return Main.DEFAULT_SIM_HZ;
+        }
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {